@@ -0,0 +1,107 @@
+package fluffyjump;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link Collision} primitives over a fixed set of random shapes, plus player-vs-meteors as a linear scan
+ * and through a {@link SpatialGrid} (query only; the grid is built in setup). Meteors are spread over an
+ * area that grows with {@link #meteors} (about as dense as an 800x600 screen with 256 of them), so the grid
+ * query should stay flat while the full pass grows linearly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    private static final int SHAPES = 1024;
+
+    @Param({"32", "256", "4096", "16384"})
+    public int meteors;
+
+    private final double[] x = new double[SHAPES], y = new double[SHAPES];
+    private final double[] r = new double[SHAPES], w = new double[SHAPES], h = new double[SHAPES];
+    private EntityStore store;
+    private SpatialGrid grid;
+    private double playerX, playerY;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < SHAPES; i++) {
+            x[i] = random.nextInt(800);
+            y[i] = random.nextInt(600);
+            r[i] = 10 + random.nextInt(30);
+            w[i] = 20 + random.nextInt(60);
+            h[i] = 20 + random.nextInt(60);
+        }
+        // ความหนาแน่นคงที่: พื้นที่โตตามจำนวน meteor
+        double spread = Math.sqrt(meteors / 256.0);
+        int areaW = (int) Math.ceil(800 * spread), areaH = (int) Math.ceil(600 * spread);
+        store = new EntityStore(meteors);
+        for (int i = 0; i < meteors; i++) {
+            Meteor.spawn(store, random.nextInt(areaW), random.nextInt(areaH), GameSimulation.SPEED_BASE, random);
+        }
+        grid = new SpatialGrid(128);
+        grid.setBounds(-160, -160, areaW + 320, areaH + 320);
+        grid.rebuild(store);
+        playerX = areaW / 2.0;
+        playerY = areaH / 2.0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHAPES - 1)
+    public int circleCircle() {
+        int hits = 0;
+        for (int i = 1; i < SHAPES; i++) {
+            if (Collision.collideCircle(x[i - 1], y[i - 1], r[i - 1], x[i], y[i], r[i])) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHAPES - 1)
+    public int rectRect() {
+        int hits = 0;
+        for (int i = 1; i < SHAPES; i++) {
+            if (Collision.collideRect(x[i - 1], y[i - 1], w[i - 1], h[i - 1], x[i], y[i], w[i], h[i])) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHAPES - 1)
+    public int circleRect() {
+        int hits = 0;
+        for (int i = 1; i < SHAPES; i++) {
+            if (Collision.collideCircleRect(x[i - 1], y[i - 1], r[i - 1], x[i], y[i], w[i], h[i])) hits++;
+        }
+        return hits;
+    }
+
+    /** ผู้เล่นหนึ่งตัว (กลางพื้นที่) กับ meteor ทั้งหมดแบบไล่ทีละตัว */
+    @Benchmark
+    public int playerVsMeteorsBrute() {
+        int hits = 0;
+        for (int i = 0; i < store.size(); i++) {
+            if (Collision.collideCircle(playerX, playerY, 25, store.centerX(i), store.centerY(i), store.radius(i))) hits++;
+        }
+        return hits;
+    }
+
+    /** ไล่ทั้ง store ตรง ๆ (EntityStore.firstCircleHit) หยุดที่ลูกแรกที่ชน */
+    @Benchmark
+    public int playerVsMeteorsScan() {
+        return store.firstCircleHit(playerX, playerY, 25);
+    }
+
+    /** จุดเดียวกันผ่าน grid: ดูแค่ cell รอบผู้เล่น */
+    @Benchmark
+    public boolean playerVsMeteorsGrid() {
+        return grid.anyCircleHit(store, playerX, playerY, 25);
+    }
+}
@@ -0,0 +1,98 @@
+package fluffyjump;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link EntityRenderer} call per entity kind into an offscreen {@link BufferedImage}. Entities that move
+ * are stepped and re-snapshotted each call, so the spinning ones go through all their rotation frames.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class EntityDrawBenchmark {
+    private BufferedImage target;
+    private Graphics2D g2;
+
+    private Obstacle obstacle;
+    private RollingRock rock;
+    private Coin coin;
+    private Coin bonusCoin;
+    private UFO ufo;
+    private Player player;
+    private double angle = 0;
+    private final RenderSnapshot snap = new RenderSnapshot();
+    private final RenderSnapshot.Layer layer = snap.getObstacles();
+
+    @Setup
+    public void setUp() {
+        AssetManager.shared().await(AssetManager.all());
+        target = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        g2 = target.createGraphics();
+        Random random = new Random(3);
+        obstacle = new Obstacle(300, GameSimulation.GROUND_Y, random);
+        rock = new RollingRock(400, GameSimulation.GROUND_Y, random);
+        coin = new Coin(200, 300);
+        bonusCoin = new BonusCoin().reset(250, 300);
+        ufo = new UFO(500, GameSimulation.GROUND_Y);
+        player = new Player(100, GameSimulation.GROUND_Y);
+        // ให้ rotation cache / sprite cache อุ่นก่อนวัด
+        rock.update(4);
+        coin.update(4);
+        player.snapshot(snap);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    /** snapshot ของ entity หนึ่งตัวลง layer ที่ index 0 */
+    private RenderSnapshot.Layer one(Obstacle o) { layer.clear(); o.snapshot(layer); return layer; }
+    private RenderSnapshot.Layer one(RollingRock r) { layer.clear(); r.snapshot(layer); return layer; }
+    private RenderSnapshot.Layer one(Coin c) { layer.clear(); c.snapshot(layer); return layer; }
+    private RenderSnapshot.Layer one(UFO u) { layer.clear(); u.snapshot(layer); return layer; }
+
+    @Benchmark
+    public void obstacle() { EntityRenderer.drawObstacle(g2, one(obstacle), 0, 0.5, 1.0); }
+
+    @Benchmark
+    public void rollingRock() {
+        rock.update(0);
+        EntityRenderer.drawRock(g2, one(rock), 0, 0.5, 1.0);
+    }
+
+    @Benchmark
+    public void coin() {
+        coin.update(0);
+        EntityRenderer.drawCoin(g2, one(coin), 0, 0.5, 1.0);
+    }
+
+    @Benchmark
+    public void bonusCoin() {
+        bonusCoin.update(0);
+        EntityRenderer.drawCoin(g2, one(bonusCoin), 0, 0.5, 1.0);
+    }
+
+    @Benchmark
+    public void ufo() {
+        ufo.update(0);
+        EntityRenderer.drawUfo(g2, one(ufo), 0, 0.5, 1.0);
+    }
+
+    @Benchmark
+    public void meteor() {
+        angle += 7;
+        EntityRenderer.drawMeteor(g2, 300, 200, 48, angle);
+    }
+
+    @Benchmark
+    public void player() { EntityRenderer.drawPlayer(g2, snap, 0.5, 1.0); }
+}
@@ -0,0 +1,112 @@
+package fluffyjump;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The meteor-shower stress level at steady state (~10k live meteors), the standard scaling scenario for
+ * update, collision and rendering throughput. Setup plays {@link RunnerGame.Level#METEOR_SHOWER} for 15
+ * seconds; {@link #tick} restarts from a copy of that state every invocation ({@link #copyOnly} is the copy
+ * on its own), the other benchmarks read it as is. Collision is measured both as a full scan and through a
+ * {@link SpatialGrid} (its upkeep is part of {@link #tick}). With {@link #threads} above 1 the tick
+ * updates meteors on that many threads, otherwise sequentially. Rendering goes into an 800x600 offscreen
+ * image, batched on {@link #threads} threads or one {@code drawImage} per meteor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class MeteorShowerBenchmark {
+    private static final int TICKS = 60;
+    private static final int W = 800, H = 600;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private GameSimulation steady;
+    private int[] pairA, pairB;
+    private GameSimulation sim;
+    private RenderSnapshot snap;
+    private ForkJoinPool pool;
+    private RotationBatch batch;
+    private BufferedImage target;
+    private Graphics2D g2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AssetManager.shared().await(AssetManager.all());
+        steady = new GameSimulation(RunnerGame.Level.METEOR_SHOWER, 42);
+        for (int i = 0; i < 15 * GameSimulation.TICK_HZ; i++) steady.step();
+        pairA = new int[1 << 16];
+        pairB = new int[1 << 16];
+        sim = GameSimulation.copyTarget(RunnerGame.Level.METEOR_SHOWER);
+        snap = new RenderSnapshot();
+        steady.writeSnapshot(snap);
+        pool = new ForkJoinPool(threads);
+        sim.setParallelUpdate(pool, threads > 1 ? GameSimulation.DEFAULT_PARALLEL_THRESHOLD : Integer.MAX_VALUE);
+        batch = EntityRenderer.newMeteorBatch(pool);
+        target = new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB);
+        g2 = target.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2.dispose();
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long copyOnly() {
+        sim.copyFrom(steady);
+        return sim.getTick();
+    }
+
+    /** หนึ่ง tick เต็ม (spawn, update, collision) เฉลี่ยจาก 60 tick ต่อจาก state ที่ copy มา */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int tick() {
+        sim.copyFrom(steady);
+        for (int i = 0; i < TICKS; i++) sim.step();
+        return sim.getScore();
+    }
+
+    /** ผู้เล่นกับ meteor ทุกลูก ในจุดที่ไม่ชนลูกไหนเลย (ต้องไล่ครบทั้ง store) */
+    @Benchmark
+    public int collideFullScan() {
+        return steady.getMeteors().firstCircleHit(W / 2.0, -1000, 25);
+    }
+
+    /** ผ่าน grid ของ simulation กลางจอ (meteor หนาแน่นที่สุด): ดูแค่ cell รอบจุดนั้น ไม่ใช่ทั้ง store */
+    @Benchmark
+    public boolean collideGrid() {
+        return steady.getMeteorGrid().anyCircleHit(steady.getMeteors(), W / 2.0, 300, 25);
+    }
+
+    /** meteor กับ meteor ทุกคู่ที่กล่องทับกัน (broad phase แบบหลายตัว) */
+    @Benchmark
+    public int meteorPairs() {
+        return steady.meteorPairs(pairA, pairB);
+    }
+
+    @Benchmark
+    public void writeSnapshot() {
+        steady.writeSnapshot(snap);
+    }
+
+    @Benchmark
+    public void renderBatched() {
+        batch.draw(g2, snap.getMeteors(), 0.5, 1.0, W, H, EntityRenderer::drawMeteor);
+    }
+
+    @Benchmark
+    public void renderPerEntity() {
+        RenderSnapshot.Layer layer = snap.getMeteors();
+        for (int i = 0; i < layer.size(); i++) EntityRenderer.drawMeteor(g2, layer, i, 0.5, 1.0);
+    }
+}
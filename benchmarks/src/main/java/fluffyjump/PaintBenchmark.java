@@ -0,0 +1,58 @@
+package fluffyjump;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole {@code paintComponent} of {@link RunnerGame} (background, entities, player, HUD) into an
+ * offscreen image of {@link #window} size, for both levels, after the simulation has run for a few seconds
+ * so the screen is populated. The scene is drawn into the {@link #renderScale} backbuffer and then scaled to
+ * the window, so only the final blit should grow with the window. The game loop thread is not started; the
+ * benchmark advances the simulation itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PaintBenchmark {
+    @Param({"EARTH", "PLANET"})
+    public RunnerGame.Level level;
+
+    @Param({"800x600", "1920x1080"})
+    public String window;
+
+    @Param({"0.5", "1.0", "2.0"})
+    public double renderScale;
+
+    private RunnerGame game;
+    private BufferedImage target;
+    private Graphics2D g2;
+
+    @Setup
+    public void setUp() {
+        int w = Integer.parseInt(window.substring(0, window.indexOf('x')));
+        int h = Integer.parseInt(window.substring(window.indexOf('x') + 1));
+        AssetManager.shared().await(AssetManager.forLevel(level)); // RunnerGame ไม่รอ asset เอง: ให้พร้อมก่อนวัด
+        game = new RunnerGame(level, false, false);
+        game.setSize(w, h);
+        game.setRenderScale(renderScale);
+        game.advance(180);
+        target = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        g2 = target.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public void paintComponent() {
+        game.paintComponent(g2);
+    }
+}
@@ -0,0 +1,77 @@
+package fluffyjump;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of {@link ParticleSystem} at a steady {@link #particles} live particles: meteor debris
+ * emitted along the ground at the rate that keeps that many alive (the meteor-shower case), updated,
+ * copied into a snapshot and drawn into an 800x600 offscreen image. Budget: all three together within
+ * about 1 ms of the 16.7 ms frame at 8000 particles (a meteor shower peaks around 5000).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ParticleBenchmark {
+    private static final int W = 800, H = 600;
+    private static final int DEBRIS_LIFE = ParticleSystem.lifeTicks(ParticleSystem.DEBRIS);
+
+    @Param({"1000", "4000", "8000"})
+    public int particles;
+
+    private ParticleSystem system;
+    private RenderSnapshot.Layer layer;
+    private SplittableRandom random;
+    private int impactsPerTick;
+    private BufferedImage target;
+    private Graphics2D g2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = new ParticleSystem(ParticleSystem.DEFAULT_CAPACITY);
+        system.reset(1);
+        layer = new RenderSnapshot().getParticles();
+        random = new SplittableRandom(3);
+        // meteor ลูกเล็ก (16 px) ให้เศษ 4 ชิ้นต่อครั้ง
+        impactsPerTick = Math.max(1, particles / DEBRIS_LIFE / 4);
+        for (int i = 0; i < 3 * DEBRIS_LIFE; i++) frame();
+        system.copyTo(layer);
+        target = new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB);
+        g2 = target.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    private void frame() {
+        for (int i = 0; i < impactsPerTick; i++) system.impact(random.nextInt(W), GameSimulation.GROUND_Y, 16);
+        system.update(GameSimulation.SPEED_BASE, GameSimulation.GROUND_Y);
+    }
+
+    /** emit ของหนึ่ง tick + update ทุกตัว */
+    @Benchmark
+    public int tick() {
+        frame();
+        return system.size();
+    }
+
+    @Benchmark
+    public int snapshot() {
+        system.copyTo(layer);
+        return layer.size();
+    }
+
+    @Benchmark
+    public void draw() {
+        ParticleRenderer.drawAll(g2, layer, 0.5, 1.0, W, H);
+    }
+}
@@ -0,0 +1,50 @@
+package fluffyjump;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding each sprite from the classpath (the work {@link AssetManager} does once per asset at startup),
+ * and constructing a {@link Player}, which no longer touches sprites at all (the renderer looks them up).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class SpriteLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Sprite {
+        @Param({
+            "/sprites/player/run 1.png",
+            "/sprites/obstacles/cactus.png",
+            "/sprites/obstacles/meteor.png",
+            "/sprites/obstacles/ufo.png",
+            "/sprites/sky/cloud.png",
+            "/sprites/ground/ground.png",
+            "/sprites/ground/planet_ground.png"
+        })
+        public String path;
+    }
+
+    @Benchmark
+    public BufferedImage decode(Sprite sprite) throws IOException {
+        return ImageIO.read(SpriteLoadBenchmark.class.getResource(sprite.path));
+    }
+
+    @Setup
+    public void setUp() {
+        AssetManager.shared().await(AssetManager.all());
+    }
+
+    @Benchmark
+    public Player newPlayer() {
+        return new Player(100, GameSimulation.GROUND_Y);
+    }
+}
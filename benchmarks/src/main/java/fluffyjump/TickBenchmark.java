@@ -0,0 +1,69 @@
+package fluffyjump;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameSimulation#step()} with extra entities injected on top of the normal spawns. Each
+ * invocation resets the simulation, injects the entities and runs one second of game time (60 ticks),
+ * so entities stay on screen for the whole measurement; {@link #populateOnly} is the setup cost to
+ * subtract.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TickBenchmark {
+    private static final int TICKS = 60;
+
+    @Param({"EARTH", "PLANET"})
+    public RunnerGame.Level level;
+
+    @Param({"0", "64", "512"})
+    public int entities;
+
+    private GameSimulation sim;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sim = new GameSimulation(level, 42);
+    }
+
+    private void resetAndPopulate() {
+        sim.reset(42);
+        random = new Random(7);
+        if (level == RunnerGame.Level.EARTH) {
+            for (int i = 0; i < entities; i++) {
+                double x = 200 + random.nextInt(1400);
+                if ((i & 1) == 0) {
+                    sim.getObstacles().add(sim.getObstaclePool().obtain().reset(x, GameSimulation.GROUND_Y, random));
+                } else {
+                    sim.getRocks().add(sim.getRockPool().obtain().reset(x, GameSimulation.GROUND_Y, random));
+                }
+            }
+        } else {
+            for (int i = 0; i < entities; i++) {
+                Meteor.spawn(sim.getMeteors(), random.nextInt(800), -60 + random.nextInt(400), sim.getGameSpeed(), random);
+            }
+        }
+    }
+
+    @Benchmark
+    public void populateOnly(Blackhole bh) {
+        resetAndPopulate();
+        bh.consume(sim.getTick());
+    }
+
+    @Benchmark
+    public void oneSecond(Blackhole bh) {
+        resetAndPopulate();
+        for (int i = 0; i < TICKS; i++) sim.step();
+        bh.consume(sim.getScore());
+    }
+}
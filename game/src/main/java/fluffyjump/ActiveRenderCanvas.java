@@ -0,0 +1,88 @@
+package fluffyjump;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Canvas for active rendering: the game thread draws into a {@link BufferStrategy} and calls
+ * {@link BufferStrategy#show()} itself instead of asking the EDT to repaint, so it knows exactly when
+ * (and whether) each frame reached the screen. Lost/restored buffer contents are redrawn in place
+ * and counted.
+ */
+public class ActiveRenderCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+
+    /** วาดหนึ่งเฟรมลง g ขนาด w x h */
+    public interface FrameRenderer {
+        void render(Graphics2D g2, int w, int h);
+    }
+
+    private final int buffers;
+    private volatile boolean strategyStale = true;
+
+    // สถิติการ present (อ่านจาก thread อื่นได้)
+    private volatile long framesPresented = 0;
+    private volatile long contentsLostCount = 0;
+    private volatile long lastPresentNanos = 0;
+    private volatile long lastPresentIntervalNanos = 0;
+    private volatile long lastPresentCostNanos = 0;
+
+    public ActiveRenderCanvas(int buffers) {
+        this.buffers = buffers;
+        setIgnoreRepaint(true);
+        setFocusable(false); // ให้ focus อยู่ที่ RunnerGame ซึ่งรับ key event
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        if (width != getWidth() || height != getHeight()) strategyStale = true;
+        super.setBounds(x, y, width, height);
+    }
+
+    /**
+     * Renders and presents one frame on the calling thread. Returns false when no frame could be shown
+     * (canvas not displayable yet, zero-sized, or torn down mid-frame).
+     */
+    public boolean renderAndShow(FrameRenderer renderer) {
+        int w = getWidth(), h = getHeight();
+        if (!isDisplayable() || w <= 0 || h <= 0) return false;
+        try {
+            if (strategyStale || getBufferStrategy() == null) {
+                createBufferStrategy(buffers);
+                strategyStale = false;
+            }
+            BufferStrategy bs = getBufferStrategy();
+            long start = System.nanoTime();
+            do {
+                do {
+                    Graphics2D g2 = (Graphics2D) bs.getDrawGraphics();
+                    try {
+                        renderer.render(g2, w, h);
+                    } finally {
+                        g2.dispose();
+                    }
+                } while (bs.contentsRestored());
+                bs.show();
+                if (bs.contentsLost()) contentsLostCount++;
+            } while (bs.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+
+            long now = System.nanoTime();
+            lastPresentCostNanos = now - start;
+            if (lastPresentNanos != 0) lastPresentIntervalNanos = now - lastPresentNanos;
+            lastPresentNanos = now;
+            framesPresented++;
+            return true;
+        } catch (IllegalStateException e) {
+            // canvas ถูกถอดออกจากหน้าต่างระหว่างวาด (เช่นกด Back to Menu)
+            return false;
+        }
+    }
+
+    public int getBufferCount() { return buffers; }
+    public long getFramesPresented() { return framesPresented; }
+    public long getContentsLostCount() { return contentsLostCount; }
+    public long getLastPresentNanos() { return lastPresentNanos; }
+    public long getLastPresentIntervalNanos() { return lastPresentIntervalNanos; }
+    public long getLastPresentCostNanos() { return lastPresentCostNanos; }
+}
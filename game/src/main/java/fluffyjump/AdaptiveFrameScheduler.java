@@ -0,0 +1,81 @@
+package fluffyjump;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-rate scheduler that sleeps for most of the frame and spins only for the final slice. The slice is
+ * calibrated at runtime: every {@link LockSupport#parkNanos} records how far it overshot the requested
+ * time, and the spin window tracks a smoothed overshoot plus a margin. On an OS with a coarse timer the
+ * window grows; where parking is precise the loop barely spins at all.
+ */
+public class AdaptiveFrameScheduler implements FrameScheduler {
+    private static final long MIN_SPIN_NANOS = 50_000;      // 50 µs
+    private static final long MAX_SPIN_NANOS = 4_000_000;   // 4 ms (timer หยาบมาก ๆ)
+    private static final long INITIAL_OVERSHOOT_NANOS = 1_000_000;
+
+    private final long periodNanos;
+    private long deadline = 0;
+    // ค่าเฉลี่ยแบบ EWMA (1/8) ของเวลาที่ park เกินที่ขอ และค่าเบี่ยงเบน
+    private long overshootNanos = INITIAL_OVERSHOOT_NANOS;
+    private long overshootDevNanos = INITIAL_OVERSHOOT_NANOS / 2;
+    private long parkedNanos = 0, spunNanos = 0;
+
+    public AdaptiveFrameScheduler(int fps) {
+        this.periodNanos = 1_000_000_000L / Math.max(1, fps);
+    }
+
+    @Override
+    public long awaitNextFrame() {
+        long now = System.nanoTime();
+        if (deadline == 0) deadline = now;
+        deadline += periodNanos;
+        long late = now - deadline;
+        if (late >= 0) {
+            // ช้ากว่ากำหนดแล้ว: เริ่มนับใหม่จากตอนนี้ ไม่เร่งเฟรมถัดไปเพื่อชดเชย
+            deadline = now;
+            return late;
+        }
+
+        long remaining;
+        while ((remaining = deadline - now) > spinWindow()) {
+            long request = remaining - spinWindow();
+            LockSupport.parkNanos(request);
+            long after = System.nanoTime();
+            calibrate(after - now - request);
+            parkedNanos += after - now;
+            now = after;
+        }
+        long spinStart = now;
+        while (deadline - System.nanoTime() > 0) Thread.onSpinWait();
+        spunNanos += System.nanoTime() - spinStart;
+        return 0;
+    }
+
+    private void calibrate(long overshoot) {
+        if (overshoot < 0) overshoot = 0;
+        long err = overshoot - overshootNanos;
+        overshootNanos += err / 8;
+        overshootDevNanos += (Math.abs(err) - overshootDevNanos) / 8;
+    }
+
+    /** ช่วงท้ายเฟรมที่จะ spin แทน park: overshoot เฉลี่ย + 2 เท่าของความเบี่ยงเบน */
+    private long spinWindow() {
+        long w = overshootNanos + 2 * overshootDevNanos;
+        return Math.max(MIN_SPIN_NANOS, Math.min(MAX_SPIN_NANOS, w));
+    }
+
+    @Override
+    public void reset() { deadline = 0; }
+
+    @Override
+    public long getFramePeriodNanos() { return periodNanos; }
+
+    public long getOvershootNanos() { return overshootNanos; }
+    public long getSpinWindowNanos() { return spinWindow(); }
+
+    /** สัดส่วนเวลารอที่ใช้ spin (ยิ่งต่ำยิ่งประหยัด CPU) */
+    public double getSpinFraction() {
+        long total = parkedNanos + spunNanos;
+        return total == 0 ? 0 : spunNanos / (double) total;
+    }
+}
@@ -0,0 +1,135 @@
+package fluffyjump;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes every sprite once, in parallel on a small pool of background threads, and hands the decoded
+ * images out from a shared cache. {@link #get} never blocks and never decodes on the calling thread: it
+ * returns the image if it is ready and null otherwise (a missing file also stays null). Code that needs an
+ * image before the first frame (the game screen, the warm-up) calls {@link #await} up front.
+ * Decoded images are never modified after they are published.
+ */
+public final class AssetManager {
+
+    /** เรียกจาก thread ที่ decode (ไม่ใช่ EDT) ทุกครั้งที่ asset หนึ่งตัวเสร็จ */
+    public interface ProgressListener {
+        void onProgress(int done, int total, String path);
+    }
+
+    public static final String PLAYER_RUN_1  = "/sprites/player/run 1.png";
+    public static final String PLAYER_RUN_2  = "/sprites/player/run 2.png";
+    public static final String PLAYER_RUN_3  = "/sprites/player/run 3.png";
+    public static final String PLAYER_RUN_4  = "/sprites/player/run 4.png";
+    public static final String PLAYER_RUN_5  = "/sprites/player/run 5.png";
+    public static final String PLAYER_RUN_6  = "/sprites/player/run 6.png";
+    public static final String PLAYER_JUMP_1 = "/sprites/player/jump 1.png";
+    public static final String PLAYER_JUMP_2 = "/sprites/player/jump 2.png";
+    public static final String PLAYER_FALL   = "/sprites/player/fall .png"; // ชื่อไฟล์มีช่องว่างตามต้นฉบับ
+    public static final String CACTUS        = "/sprites/obstacles/cactus.png";
+    public static final String ROCK          = "/sprites/obstacles/rock.png";
+    public static final String METEOR        = "/sprites/obstacles/meteor.png";
+    public static final String UFO           = "/sprites/obstacles/ufo.png";
+    public static final String CLOUD         = "/sprites/sky/cloud.png";
+    public static final String GROUND        = "/sprites/ground/ground.png";
+    public static final String PLANET_GROUND = "/sprites/ground/planet_ground.png";
+
+    private static final List<String> PLAYER = List.of(
+        PLAYER_RUN_1, PLAYER_RUN_2, PLAYER_RUN_3, PLAYER_RUN_4, PLAYER_RUN_5, PLAYER_RUN_6,
+        PLAYER_JUMP_1, PLAYER_JUMP_2, PLAYER_FALL
+    );
+    private static final List<String> EARTH = List.of(CACTUS, ROCK, CLOUD, GROUND);
+    private static final List<String> PLANET = List.of(METEOR, UFO, PLANET_GROUND);
+    private static final List<String> ALL = concat(PLAYER, EARTH, PLANET);
+
+    private static final AssetManager SHARED = new AssetManager();
+
+    private final ExecutorService pool;
+    private final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+
+    private AssetManager() {
+        ImageIO.setUseCache(false); // decode ในหน่วยความจำ ไม่ต้องเขียนไฟล์ชั่วคราว
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger n = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "AssetLoader-" + n.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    public static AssetManager shared() { return SHARED; }
+
+    /** asset ทั้งหมดที่ด่านนี้ใช้ (รวม sprite ของผู้เล่น) */
+    public static List<String> forLevel(RunnerGame.Level level) {
+        return level == RunnerGame.Level.EARTH ? concat(PLAYER, EARTH) : concat(PLAYER, PLANET);
+    }
+
+    public static List<String> all() { return ALL; }
+
+    /**
+     * Starts decoding every known asset (already started or finished ones are not decoded again) and
+     * reports each completion to the listener, which may be null. The future completes when all are done.
+     */
+    public CompletableFuture<Void> preloadAll(ProgressListener listener) {
+        return preload(ALL, listener);
+    }
+
+    public CompletableFuture<Void> preload(List<String> paths, ProgressListener listener) {
+        int total = paths.size();
+        AtomicInteger done = new AtomicInteger();
+        CompletableFuture<?>[] all = new CompletableFuture<?>[total];
+        for (int i = 0; i < total; i++) {
+            String path = paths.get(i);
+            CompletableFuture<BufferedImage> f = load(path);
+            all[i] = listener == null ? f
+                    : f.whenComplete((img, ex) -> listener.onProgress(done.incrementAndGet(), total, path));
+        }
+        return CompletableFuture.allOf(all);
+    }
+
+    /** Decoded image, or null if it is still decoding or the file is missing. Never blocks. */
+    public BufferedImage get(String path) {
+        return load(path).getNow(null);
+    }
+
+    public boolean isReady(String path) {
+        return load(path).isDone();
+    }
+
+    /** Blocks until the given assets are decoded (or known missing). Call before gameplay, not during. */
+    public void await(List<String> paths) {
+        for (int i = 0; i < paths.size(); i++) load(paths.get(i)).join();
+    }
+
+    private CompletableFuture<BufferedImage> load(String path) {
+        CompletableFuture<BufferedImage> f = images.get(path);
+        if (f != null) return f;
+        return images.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> decode(p), pool));
+    }
+
+    private static BufferedImage decode(String path) {
+        try {
+            URL url = AssetManager.class.getResource(path);
+            return url != null ? ImageIO.read(url) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... lists) {
+        int n = 0;
+        for (List<String> l : lists) n += l.size();
+        String[] out = new String[n];
+        int i = 0;
+        for (List<String> l : lists) for (String s : l) out[i++] = s;
+        return List.of(out);
+    }
+}
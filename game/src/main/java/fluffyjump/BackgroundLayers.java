@@ -0,0 +1,140 @@
+package fluffyjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Level background as a stack of cached layers. Every layer is rendered once per target size and scale
+ * into a display-compatible image at device resolution; per frame the static sky is a single blit and the
+ * scrolling layers (clouds or stars, then the ground) are two wrapped unscaled blits each, offset by the
+ * distance travelled times their parallax factor.
+ */
+public class BackgroundLayers {
+    private static final int GROUND_Y = GameSimulation.GROUND_Y;
+
+    // ความเร็วเลื่อนของแต่ละชั้นเทียบกับพื้น (1.0 = เท่ากับ gameSpeed)
+    private static final double FAR_PARALLAX = 0.15;
+    private static final double GROUND_PARALLAX = 1.0;
+
+    private static final Color EARTH_SKY = new Color(140, 235, 255);
+    private static final Color EARTH_GROUND = new Color(60, 180, 75);
+    private static final Color PLANET_SKY_TOP = new Color(10, 15, 35);
+    private static final Color PLANET_SKY_BOTTOM = new Color(0, 0, 0);
+    private static final Color PLANET_GROUND = new Color(40, 50, 70);
+    private static final Color STAR = new Color(230, 230, 255);
+
+    private final RunnerGame.Level level;
+    private final Image cloudImg, groundImg;
+
+    // ตำแหน่งดาวเก็บเป็นสัดส่วน 0..1 เพื่อให้ resize แล้วยังกระจายทั่วจอ
+    private final double[] starFx = new double[120];
+    private final double[] starFy = new double[120];
+
+    private int cachedW = -1, cachedH = -1;
+    private double cachedScale;
+    private int groundY;              // GROUND_Y ในหน่วย pixel ของ layer
+    private BufferedImage skyLayer;   // ชั้นนิ่ง
+    private BufferedImage farLayer;   // เมฆ (Earth) / ดาว (Planet)
+    private BufferedImage groundLayer;
+
+    public BackgroundLayers(RunnerGame.Level level, Image cloudImg, Image groundImg) {
+        this.level = level;
+        this.cloudImg = cloudImg;
+        this.groundImg = groundImg;
+        Random random = new Random(level.ordinal());
+        for (int i = 0; i < starFx.length; i++) {
+            starFx[i] = random.nextDouble();
+            starFy[i] = random.nextDouble();
+        }
+    }
+
+    /** พื้นหลังของด่านจาก sprite ใน {@link AssetManager} (ต้องโหลดเสร็จแล้ว) */
+    public static BackgroundLayers forLevel(RunnerGame.Level level) {
+        AssetManager assets = AssetManager.shared();
+        if (level == RunnerGame.Level.EARTH) {
+            return new BackgroundLayers(level, assets.get(AssetManager.CLOUD), assets.get(AssetManager.GROUND));
+        }
+        return new BackgroundLayers(level, null, assets.get(AssetManager.PLANET_GROUND));
+    }
+
+    /**
+     * วาดพื้นหลังทั้งหมดลง g2 ที่ไม่มี transform ขนาด w x h pixel; scale = pixel ต่อหนึ่งหน่วย logical,
+     * scrollX = ระยะทางที่วิ่งมาแล้ว (หน่วย logical)
+     */
+    public void draw(Graphics2D g2, int w, int h, double scale, double scrollX) {
+        if (w <= 0 || h <= 0) return;
+        if (w != cachedW || h != cachedH || scale != cachedScale || skyLayer == null) {
+            rebuild(g2.getDeviceConfiguration(), w, h, scale);
+        }
+
+        g2.drawImage(skyLayer, 0, 0, null);
+        drawWrapped(g2, farLayer, 0, scrollX * FAR_PARALLAX * scale);
+        if (groundLayer != null) drawWrapped(g2, groundLayer, groundY, scrollX * GROUND_PARALLAX * scale);
+    }
+
+    private static void drawWrapped(Graphics2D g2, BufferedImage tile, int y, double offset) {
+        int tw = tile.getWidth();
+        int ox = (int) Math.floorMod((long) Math.floor(offset), (long) tw);
+        g2.drawImage(tile, -ox, y, null);
+        if (ox > 0) g2.drawImage(tile, tw - ox, y, null);
+    }
+
+    private void rebuild(GraphicsConfiguration gc, int w, int h, double scale) {
+        cachedW = w;
+        cachedH = h;
+        cachedScale = scale;
+        groundY = (int) Math.round(GROUND_Y * scale);
+        skyLayer = gc.createCompatibleImage(w, h, Transparency.OPAQUE);
+        farLayer = gc.createCompatibleImage(w, Math.max(1, Math.min(groundY, h)), Transparency.TRANSLUCENT);
+        int groundH = h - groundY;
+        groundLayer = groundH > 0 ? gc.createCompatibleImage(w, groundH, Transparency.OPAQUE) : null;
+
+        Graphics2D sky = skyLayer.createGraphics();
+        Graphics2D far = farLayer.createGraphics();
+        // เมฆ/ดาววางในพิกัด logical; transform ใช้แค่ตอนสร้าง layer ครั้งเดียว ไม่ใช่ทุกเฟรม
+        far.scale(scale, scale);
+        int lw = (int) Math.round(w / scale);
+        if (level == RunnerGame.Level.EARTH) {
+            sky.setColor(EARTH_SKY);
+            sky.fillRect(0, 0, w, h);
+            if (cloudImg != null) paintClouds(far, lw);
+        } else {
+            sky.setPaint(new GradientPaint(0, 0, PLANET_SKY_TOP, 0, h, PLANET_SKY_BOTTOM));
+            sky.fillRect(0, 0, w, h);
+            far.setColor(STAR);
+            int starH = Math.max(1, GROUND_Y - 40);
+            for (int i = 0; i < starFx.length; i++) far.fillRect((int) (starFx[i] * lw), (int) (starFy[i] * starH), 2, 2);
+        }
+        sky.dispose();
+        far.dispose();
+
+        if (groundLayer != null) {
+            Graphics2D g = groundLayer.createGraphics();
+            if (groundImg != null) {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(groundImg, 0, 0, w, groundH, null);
+            } else {
+                g.setColor(level == RunnerGame.Level.EARTH ? EARTH_GROUND : PLANET_GROUND);
+                g.fillRect(0, 0, w, groundH);
+            }
+            g.dispose();
+        }
+    }
+
+    private void paintClouds(Graphics2D g2, int w) {
+        double[] xs = {0.12, 0.45, 0.78};
+        double[] ys = {0.12, 0.09, 0.16};
+        double[] ws = {0.18, 0.22, 0.16};
+
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        for (int i = 0; i < xs.length; i++) {
+            int cw = (int) Math.max(80, w * ws[i]);
+            int ch = (int) (cw * 0.6);
+            int cx = (int) (w * xs[i]) - cw/2;
+            int cy = (int) (GROUND_Y * ys[i]);
+            // วาดซ้ำที่ +-w ด้วย เมฆที่ล้นขอบจะได้ต่อกันพอดีตอน tile วนรอบ
+            for (int k = -1; k <= 1; k++) g2.drawImage(cloudImg, cx + k * w, cy, cw, ch, null);
+        }
+    }
+}
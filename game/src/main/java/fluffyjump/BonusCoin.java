@@ -0,0 +1,13 @@
+package fluffyjump;
+
+public class BonusCoin extends Coin {
+    /** ใช้กับ EntityPool: สร้างเปล่าไว้ แล้วเรียก reset ก่อนใช้ */
+    BonusCoin() {}
+
+    public BonusCoin(double x, double y) {
+        super(x, y);
+    }
+
+    @Override
+    public boolean isBonus() { return true; }
+}
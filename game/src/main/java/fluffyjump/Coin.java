@@ -0,0 +1,66 @@
+package fluffyjump;
+
+public class Coin implements Entity {
+    private double x;
+    private double y;
+    private int size = 26;
+    private double spinDeg = 0.0;
+    private double prevX, prevY, prevSpinDeg;
+
+    /** ใช้กับ EntityPool: สร้างเปล่าไว้ แล้วเรียก reset ก่อนใช้ */
+    Coin() {}
+
+    public Coin(double x, double y) {
+        reset(x, y);
+    }
+
+    public Coin reset(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.spinDeg = 0.0;
+        this.prevSpinDeg = 0.0;
+        return this;
+    }
+
+    public Coin copyFrom(Coin o) {
+        x = o.x; y = o.y; size = o.size; spinDeg = o.spinDeg;
+        prevX = o.prevX; prevY = o.prevY; prevSpinDeg = o.prevSpinDeg;
+        return this;
+    }
+
+    // ==== Entity.update ====
+    @Override
+    public void update(double gameSpeed) {
+        prevX = x; prevY = y; prevSpinDeg = spinDeg;
+        x -= gameSpeed;
+        spinDeg += 3.6;
+        if (spinDeg >= 360) spinDeg -= 360;
+    }
+
+    public void snapshot(RenderSnapshot.Layer out) {
+        out.add(prevX, x, prevY, y, prevSpinDeg, spinDeg, size, size, isBonus() ? 1 : 0);
+    }
+
+    public boolean isBonus() { return false; }
+
+    // ==== Entity.isOffscreen ====
+    @Override
+    public boolean isOffscreen(int panelW, int panelH) {
+        return x + size < -80; // ใช้ buffer 80 แบบเดียวกับของเดิม
+    }
+
+    // ----- utilities เดิม -----
+    public boolean isOffscreenLeft(int bufferPx) { return x + size < -bufferPx; }
+
+    // geometry
+    public double getCenterX() { return x + size / 2.0; }
+    public double getCenterY() { return y + size / 2.0; }
+    public double getRadius()  { return size / 2.0; }
+    public double getCenterX(double alpha) { return Entity.lerp(prevX, x, alpha) + size / 2.0; }
+    public double getCenterY(double alpha) { return Entity.lerp(prevY, y, alpha) + size / 2.0; }
+
+    // resize helper
+    public void shiftY(double dy) { this.y += dy; this.prevY += dy; }
+}
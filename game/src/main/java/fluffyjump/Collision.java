@@ -0,0 +1,28 @@
+package fluffyjump;
+
+/**
+ * Narrow-phase collision primitives. All static, all on primitives, so a test never allocates
+ * (no {@code Rectangle} per check).
+ */
+public final class Collision {
+    private Collision() {}
+
+    public static boolean collideCircle(double ax, double ay, double ar, double bx, double by, double br) {
+        double dx = ax - bx, dy = ay - by, rr = ar + br;
+        return dx*dx + dy*dy <= rr*rr;
+    }
+
+    /** AABB แบบเดียวกับ Rectangle.intersects (ขอบที่แตะกันพอดีไม่นับว่าชน) */
+    public static boolean collideRect(double ax, double ay, double aw, double ah,
+                                      double bx, double by, double bw, double bh) {
+        return ax < bx + bw && bx < ax + aw && ay < by + bh && by < ay + ah;
+    }
+
+    public static boolean collideCircleRect(double cx, double cy, double r,
+                                            double rx, double ry, double rw, double rh) {
+        double nx = Math.max(rx, Math.min(cx, rx + rw));
+        double ny = Math.max(ry, Math.min(cy, ry + rh));
+        double dx = cx - nx, dy = cy - ny;
+        return dx*dx + dy*dy <= r*r;
+    }
+}
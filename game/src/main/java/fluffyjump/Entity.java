@@ -0,0 +1,21 @@
+package fluffyjump;
+
+/**
+ * Per-object view of a game entity, implemented by every kind that lives in its own object (obstacles,
+ * rocks, UFOs, coins). Meteors are the exception: there can be tens of thousands, so they live in an
+ * {@link EntityStore} with {@link Meteor} as their archetype and are updated by whole-array passes.
+ */
+public interface Entity {
+    void update(double gameSpeed);
+    default boolean isOffscreen(int panelW, int panelH) { return false; }
+
+    static double lerp(double from, double to, double alpha) { return from + (to - from) * alpha; }
+
+    /** lerp มุม (องศา) ที่วนรอบ 360 โดยไม่หมุนย้อนตอนข้ามจาก 359 -> 0 */
+    static double lerpAngle(double fromDeg, double toDeg, double alpha) {
+        double d = toDeg - fromDeg;
+        if (d < -180) d += 360;
+        else if (d > 180) d -= 360;
+        return fromDeg + d * alpha;
+    }
+}
@@ -0,0 +1,60 @@
+package fluffyjump;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Free-list pool for spawned entities. {@link #obtain()} hands back a released instance when one is
+ * available (hit) and only calls the factory when the free list is empty (miss), so once the pool has
+ * warmed up spawning and despawning allocate nothing. Callers re-initialise the instance via its
+ * {@code reset(...)} method.
+ */
+public class EntityPool<T> {
+    private final Supplier<T> factory;
+    private final ArrayList<T> free;
+    private long hits = 0;
+    private long misses = 0;
+
+    public EntityPool(Supplier<T> factory, int initialCapacity) {
+        this.factory = factory;
+        this.free = new ArrayList<>(initialCapacity);
+    }
+
+    public T obtain() {
+        int n = free.size();
+        if (n > 0) {
+            hits++;
+            return free.remove(n - 1);
+        }
+        misses++;
+        return factory.get();
+    }
+
+    public void release(T e) { free.add(e); }
+
+    /** ย้ายทุกตัวใน list กลับเข้า pool แล้วล้าง list */
+    public void releaseAll(List<? extends T> live) {
+        for (int i = 0; i < live.size(); i++) free.add(live.get(i));
+        live.clear();
+    }
+
+    /**
+     * ลบตัวที่ index i ออกจาก list แบบ swap-remove (ย้ายตัวท้ายมาแทน ไม่ต้องเลื่อน array)
+     * แล้วคืนเข้า pool; loop ที่เรียกใช้ต้องวนจากท้ายมาหน้า
+     */
+    public void releaseAt(List<T> live, int i) {
+        int last = live.size() - 1;
+        T e = live.get(i);
+        live.set(i, live.get(last));
+        live.remove(last);
+        free.add(e);
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public int getFreeCount() { return free.size(); }
+
+    @Override
+    public String toString() { return "hit=" + hits + " miss=" + misses + " free=" + free.size(); }
+}
@@ -0,0 +1,181 @@
+package fluffyjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Render side of every entity kind. The entity classes only hold game state and copy it into a
+ * {@link RenderSnapshot}; drawing, sprites and the pre-rotated frame caches all live here, so the
+ * simulation never touches AWT. All helpers draw one entity (or one layer) of a snapshot at its
+ * interpolated pose onto a {@link Graphics2D} with no transform: {@code scale} is device pixels per
+ * logical unit, and sprites and rotation frames are cached at their size in device pixels, so every draw
+ * is an unscaled blit.
+ */
+public final class EntityRenderer {
+    private static final RotationCache ROCK_FRAMES = new RotationCache(EntityRenderer::paintRock);
+    private static final RotationCache COIN_FRAMES = new RotationCache(EntityRenderer::paintCoin);
+    private static final RotationCache BONUS_COIN_FRAMES = new RotationCache(EntityRenderer::paintBonusCoin);
+    private static final RotationCache METEOR_FRAMES = new RotationCache(EntityRenderer::paintMeteor);
+
+    // ตั้งแต่จำนวนนี้ขึ้นไป วาด meteor ทั้ง layer แบบ batch (drawImage ทีละลูกช้ากว่า)
+    private static final int METEOR_BATCH_MIN = 256;
+    private static final RotationBatch METEOR_BATCH = new RotationBatch(METEOR_FRAMES, ForkJoinPool.commonPool());
+
+    // ลำดับเดียวกับเลข frame ของ Player (run 0-5, jump 6-7, fall 8)
+    private static final String[] PLAYER_FRAMES = {
+        AssetManager.PLAYER_RUN_1, AssetManager.PLAYER_RUN_2, AssetManager.PLAYER_RUN_3,
+        AssetManager.PLAYER_RUN_4, AssetManager.PLAYER_RUN_5, AssetManager.PLAYER_RUN_6,
+        AssetManager.PLAYER_JUMP_1, AssetManager.PLAYER_JUMP_2, AssetManager.PLAYER_FALL
+    };
+
+    private EntityRenderer() {}
+
+    /** ค่า logical -> pixel (ปัดเศษ) */
+    static int px(double v, double scale) {
+        return (int)Math.round(v * scale);
+    }
+
+    /** ขนาด logical -> pixel อย่างน้อย 1 (key ของ SpriteCache/RotationCache) */
+    static int pxSize(int size, double scale) {
+        return Math.max(1, (int)Math.round(size * scale));
+    }
+
+    public static void drawObstacle(Graphics2D g2, RenderSnapshot.Layer s, int i, double alpha, double scale) {
+        int ix = px(s.lerpX(i, alpha), scale), iy = px(s.y[i], scale);
+        int width = pxSize(s.w[i], scale), height = pxSize(s.h[i], scale);
+        BufferedImage img = AssetManager.shared().get(AssetManager.CACTUS);
+        if (img != null) {
+            SpriteCache.shared().draw(g2, img, ix, iy, width, height);
+        } else {
+            g2.setColor(new Color(34, 177, 76));
+            g2.fillRect(ix, iy, width, height);
+        }
+    }
+
+    public static void drawRock(Graphics2D g2, RenderSnapshot.Layer s, int i, double alpha, double scale) {
+        int size = s.w[i];
+        int cx = px(s.lerpX(i, alpha) + size / 2.0, scale);
+        int cy = px(s.y[i] + size / 2.0, scale);
+        ROCK_FRAMES.draw(g2, cx, cy, pxSize(size, scale), s.lerpAngle(i, alpha));
+    }
+
+    public static void drawUfo(Graphics2D g2, RenderSnapshot.Layer s, int i, double alpha, double scale) {
+        int width = pxSize(s.w[i], scale), height = pxSize(s.h[i], scale);
+        int ix = px(s.lerpX(i, alpha), scale);
+        int iy = px(s.y[i] - 6 * Math.sin(s.lerpPhase(i, alpha)), scale);
+
+        BufferedImage img = AssetManager.shared().get(AssetManager.UFO);
+        if (img != null) {
+            // sprite ต้นฉบับใหญ่มาก (ย่อเหลือ 8%) จึงต้องใช้สำเนาที่ย่อไว้แล้ว
+            SpriteCache.shared().draw(g2, img, ix, iy, width, height);
+        } else {
+            g2.setColor(new Color(120, 200, 80));
+            g2.fillOval(ix, iy + height/3, width, height/2);
+            g2.setColor(Color.DARK_GRAY);
+            g2.fillOval(ix + width/8, iy + height/2, width*3/4, height/3);
+        }
+    }
+
+    /** เหรียญธรรมดาหรือ bonus ตาม flags ของ layer */
+    public static void drawCoin(Graphics2D g2, RenderSnapshot.Layer s, int i, double alpha, double scale) {
+        int size = s.w[i];
+        // BonusCoin ใช้ strip ของตัวเองที่มี overlay
+        (s.flags[i] != 0 ? BONUS_COIN_FRAMES : COIN_FRAMES).draw(g2,
+                (s.lerpX(i, alpha) + size / 2.0) * scale, (s.lerpY(i, alpha) + size / 2.0) * scale,
+                pxSize(size, scale), s.lerpAngle(i, alpha));
+    }
+
+    /** วาด meteor ทั้ง layer ลงบนพื้นที่ w x h pixel: ทีละลูกถ้ามีน้อย หรือเป็น batch เดียวถ้ามีเยอะ (ฝน meteor) */
+    public static void drawMeteors(Graphics2D g2, RenderSnapshot.Layer s, double alpha, double scale, int w, int h) {
+        if (s.size() >= METEOR_BATCH_MIN) {
+            METEOR_BATCH.draw(g2, s, alpha, scale, w, h, EntityRenderer::drawMeteor);
+            return;
+        }
+        for (int i = 0; i < s.size(); i++) drawMeteor(g2, s, i, alpha, scale);
+    }
+
+    /** วาด meteor ที่ index i ของ snapshot */
+    public static void drawMeteor(Graphics2D g2, RenderSnapshot.Layer s, int i, double alpha, double scale) {
+        drawMeteor(g2, s.lerpX(i, alpha) * scale, s.lerpY(i, alpha) * scale, pxSize(s.w[i], scale),
+                s.lerpAngle(i, alpha));
+    }
+
+    /** meteor ขนาด size pixel ที่มุมซ้ายบน (x, y) ในหน่วย pixel ของ g2 */
+    public static void drawMeteor(Graphics2D g2, double x, double y, int size, double angleDeg) {
+        METEOR_FRAMES.draw(g2, x + size / 2.0, y + size / 2.0, size, angleDeg);
+    }
+
+    /** batch ของ frame meteor ที่ใช้ pool อื่น (benchmark เทียบจำนวน thread) */
+    static RotationBatch newMeteorBatch(ForkJoinPool pool) {
+        return new RotationBatch(METEOR_FRAMES, pool);
+    }
+
+    public static void drawPlayer(Graphics2D g2, RenderSnapshot s, double alpha, double scale) {
+        int x = px(Entity.lerp(s.playerPrevX, s.playerX, alpha), scale);
+        int y = px(Entity.lerp(s.playerPrevY, s.playerY, alpha), scale);
+        int width = pxSize(s.playerW, scale), height = pxSize(s.playerH, scale);
+        if (s.playerFlash) {
+            int pad = px(4, scale);
+            g2.setColor(new Color(255, 255, 0, 90));
+            g2.fillRect(x - pad, y - pad, width + 2 * pad, height + 2 * pad);
+        }
+
+        // frame ที่ยัง decode ไม่เสร็จ (หรือไม่มีไฟล์) วาดสี่เหลี่ยมแทน
+        BufferedImage sprite = AssetManager.shared().get(PLAYER_FRAMES[s.playerFrame]);
+        if (sprite != null) {
+            SpriteCache.shared().draw(g2, sprite, x, y, width, height);
+        } else {
+            g2.setColor(Color.BLACK);
+            g2.fillRect(x, y, width, height);
+        }
+    }
+
+    /** วาดหินแบบยังไม่หมุน โดยให้จุดศูนย์กลางอยู่ที่ (0, 0) */
+    private static void paintRock(Graphics2D g2, int size) {
+        BufferedImage img = AssetManager.shared().get(AssetManager.ROCK);
+        if (img != null) {
+            g2.drawImage(img, -size/2, -size/2, size, size, null);
+        } else {
+            g2.setColor(new Color(120, 120, 120));
+            g2.fillOval(-size/2, -size/2, size, size);
+            g2.setColor(new Color(90, 90, 90));
+            g2.setStroke(new BasicStroke(2f));
+            g2.drawLine(-size/3, 0, size/3, 0);
+            g2.drawArc(-size/2 + 4, -size/2 + 4, size - 8, size - 8, 40, 100);
+        }
+    }
+
+    /** วาดเหรียญแบบยังไม่หมุน โดยให้จุดศูนย์กลางอยู่ที่ (0, 0) */
+    private static void paintCoin(Graphics2D g2, int size) {
+        int r = size / 2;
+        g2.setColor(new Color(255, 215, 0));
+        g2.fillOval(-r, -r, size, size);
+
+        g2.setStroke(new BasicStroke(2f));
+        g2.setColor(new Color(220, 170, 0));
+        g2.drawOval(-r, -r, size, size);
+
+        g2.setColor(new Color(255, 255, 255, 120));
+        g2.fillOval(-r/2, -r, r, r);
+    }
+
+    private static void paintBonusCoin(Graphics2D g2, int size) {
+        paintCoin(g2, size);
+
+        int r = size / 2;
+        g2.setColor(new Color(127, 11, 41)); // ม่วงโปร่ง
+        g2.fillOval(-r, -r, r * 2, r * 2);
+    }
+
+    private static void paintMeteor(Graphics2D g2, int size) {
+        BufferedImage img = AssetManager.shared().get(AssetManager.METEOR);
+        if (img != null) {
+            g2.drawImage(img, -size / 2, -size / 2, size, size, null);
+        } else {
+            // fallback: วาดก้อนหินสีเทา
+            g2.setColor(new Color(100, 100, 100));
+            g2.fillOval(-size / 2, -size / 2, size, size);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package fluffyjump;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for high-count entities (meteors on Planet). Each live entity is one index
+ * into parallel primitive arrays, so the per-tick update is a straight pass over {@code double[]}s that
+ * the JIT can unroll/vectorise instead of chasing one object pointer per entity.
+ *
+ * <p>Removal is swap-remove: the last entity moves into the freed slot, so indices are only stable until
+ * the next {@link #removeAt(int)}. Loops that remove must walk from the end to the front. The arrays
+ * grow by doubling and are never shrunk, so steady-state play allocates nothing.
+ */
+public class EntityStore {
+    public static final int TYPE_METEOR = 0;
+
+    // arrays เปิดให้ใช้ใน package ตรง ๆ เพื่อให้ loop ร้อน ๆ ไม่ต้องผ่าน getter
+    double[] x, y, vx, vy;
+    double[] prevX, prevY;
+    double[] angle, prevAngle, spin;
+    int[] type, size;
+    int count = 0;
+
+    public EntityStore(int initialCapacity) {
+        int cap = Math.max(4, initialCapacity);
+        x = new double[cap];  y = new double[cap];
+        vx = new double[cap]; vy = new double[cap];
+        prevX = new double[cap]; prevY = new double[cap];
+        angle = new double[cap]; prevAngle = new double[cap]; spin = new double[cap];
+        type = new int[cap]; size = new int[cap];
+    }
+
+    public int size() { return count; }
+    public int capacity() { return x.length; }
+    public void clear() { count = 0; }
+
+    /** ให้ store นี้มี entity ชุดเดียวกับ other ทุกประการ (โตเมื่อจำเป็น ไม่ new ถ้าความจุพอแล้ว) */
+    public void copyFrom(EntityStore o) {
+        int n = o.count;
+        while (x.length < n) grow();
+        System.arraycopy(o.x, 0, x, 0, n);         System.arraycopy(o.y, 0, y, 0, n);
+        System.arraycopy(o.vx, 0, vx, 0, n);       System.arraycopy(o.vy, 0, vy, 0, n);
+        System.arraycopy(o.prevX, 0, prevX, 0, n); System.arraycopy(o.prevY, 0, prevY, 0, n);
+        System.arraycopy(o.angle, 0, angle, 0, n); System.arraycopy(o.prevAngle, 0, prevAngle, 0, n);
+        System.arraycopy(o.spin, 0, spin, 0, n);
+        System.arraycopy(o.type, 0, type, 0, n);   System.arraycopy(o.size, 0, size, 0, n);
+        count = n;
+    }
+
+    /** เพิ่ม entity ใหม่แล้วคืน index ของมัน */
+    public int add(int entityType, double px, double py, double pvx, double pvy,
+                   int entitySize, double angleDeg, double spinDeg) {
+        if (count == x.length) grow();
+        int i = count++;
+        x[i] = px;   y[i] = py;
+        vx[i] = pvx; vy[i] = pvy;
+        prevX[i] = px; prevY[i] = py;
+        angle[i] = angleDeg; prevAngle[i] = angleDeg; spin[i] = spinDeg;
+        type[i] = entityType; size[i] = entitySize;
+        return i;
+    }
+
+    public void removeAt(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];   y[i] = y[last];
+        vx[i] = vx[last]; vy[i] = vy[last];
+        prevX[i] = prevX[last]; prevY[i] = prevY[last];
+        angle[i] = angle[last]; prevAngle[i] = prevAngle[last]; spin[i] = spin[last];
+        type[i] = type[last]; size[i] = size[last];
+    }
+
+    /** One tick of motion for every live entity: remember the previous pose, then x += vx, angle += spin. */
+    public void integrate() {
+        integrate(0, count);
+    }
+
+    public void integrate(int from, int to) {
+        final double[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        final double[] px = this.prevX, py = this.prevY;
+        System.arraycopy(x, from, px, from, to - from);
+        System.arraycopy(y, from, py, from, to - from);
+        System.arraycopy(angle, from, prevAngle, from, to - from);
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+        final double[] a = this.angle, s = this.spin;
+        for (int i = from; i < to; i++) {
+            double na = a[i] + s[i];
+            a[i] = na >= 360 ? na - 360 : na;
+        }
+    }
+
+    /**
+     * Index of the first entity whose circle (the box's inscribed circle, as {@link #radius}) touches the
+     * circle at (cx, cy) with radius r, or -1. A straight pass over the coordinate arrays; same result as
+     * {@link Collision#collideCircle} on {@link #centerX}/{@link #centerY}/{@link #radius} per entity.
+     */
+    public int firstCircleHit(double cx, double cy, double r) {
+        final double[] x = this.x, y = this.y;
+        final int[] size = this.size;
+        for (int i = 0, n = count; i < n; i++) {
+            double half = size[i] * 0.5;
+            double dy = cy - (y[i] + half), rr = r + half;
+            if (dy * dy > rr * rr) continue; // ตัดด้วยแกน y ก่อน (ผลเหมือนเดิมทุกกรณี เพราะ dx*dx >= 0)
+            double dx = cx - (x[i] + half);
+            if (dx * dx + dy * dy <= rr * rr) return i;
+        }
+        return -1;
+    }
+
+    /** entity i ชนวงกลม (cx, cy, r) ไหม: สูตรเดียวกับ {@link #firstCircleHit} ทุกตัว จึงได้ผลตรงกันเสมอ */
+    public boolean circleHits(int i, double cx, double cy, double r) {
+        double half = size[i] * 0.5;
+        double dy = cy - (y[i] + half), rr = r + half;
+        if (dy * dy > rr * rr) return false;
+        double dx = cx - (x[i] + half);
+        return dx * dx + dy * dy <= rr * rr;
+    }
+
+    public double centerX(int i) { return x[i] + size[i] / 2.0; }
+    public double centerY(int i) { return y[i] + size[i] / 2.0; }
+    public double radius(int i)  { return size[i] / 2.0; }
+
+    private void grow() {
+        int cap = x.length * 2;
+        x = Arrays.copyOf(x, cap);   y = Arrays.copyOf(y, cap);
+        vx = Arrays.copyOf(vx, cap); vy = Arrays.copyOf(vy, cap);
+        prevX = Arrays.copyOf(prevX, cap); prevY = Arrays.copyOf(prevY, cap);
+        angle = Arrays.copyOf(angle, cap); prevAngle = Arrays.copyOf(prevAngle, cap);
+        spin = Arrays.copyOf(spin, cap);
+        type = Arrays.copyOf(type, cap); size = Arrays.copyOf(size, cap);
+    }
+}
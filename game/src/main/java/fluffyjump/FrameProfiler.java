@@ -0,0 +1,155 @@
+package fluffyjump;
+
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Per-phase frame timers. Each phase owns a fixed {@link LatencyHistogram}; recording is two
+ * {@code nanoTime} reads and an array increment, so the profiler is always on and the F3 overlay only
+ * decides whether the numbers are drawn. Simulation phases are written by the game thread, render
+ * phases by whichever thread paints, so every histogram has a single writer.
+ */
+public class FrameProfiler {
+    public static final int TICK       = 0;
+    public static final int SPAWN      = 1;
+    public static final int UPDATE     = 2;
+    public static final int COLLISION  = 3;
+    public static final int BACKGROUND = 4;
+    public static final int ENTITIES   = 5;
+    public static final int HUD        = 6;
+    public static final int PRESENT    = 7;
+    public static final int PHASES     = 8;
+
+    private static final String[] NAMES = {
+        "tick", "spawn", "update", "collision", "background", "entities", "hud", "present"
+    };
+    private static final long SAMPLE_INTERVAL_NANOS = 500_000_000L;
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASES];
+    private final long[] last = new long[PHASES];
+
+    // ค่าจาก MXBean (สุ่มอ่านทุกครึ่งวินาทีบน game thread, overlay อ่านจาก thread อื่น)
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<GarbageCollectorMXBean> gcs = ManagementFactory.getGarbageCollectorMXBeans();
+    private volatile long painterThreadId = -1;
+    private long lastSampleNanos = 0;
+    private long lastAllocatedBytes = -1;
+    private volatile double allocBytesPerSec = 0;
+    private volatile long gcCount = 0;
+    private volatile long gcTimeMillis = 0;
+    private volatile long firstFrameNanos = 0;
+
+    private final Font font = new Font("Monospaced", Font.PLAIN, 12);
+
+    public FrameProfiler() {
+        for (int i = 0; i < PHASES; i++) phases[i] = new LatencyHistogram(NAMES[i]);
+        ThreadMXBean t = ManagementFactory.getThreadMXBean();
+        if (t instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) t).isThreadAllocatedMemorySupported()) {
+            threads = (com.sun.management.ThreadMXBean) t;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threads = null;
+        }
+    }
+
+    /** Records {@code now - startNanos} for the phase and returns now, so consecutive phases can chain. */
+    public long lap(int phase, long startNanos) {
+        long now = System.nanoTime();
+        long d = now - startNanos;
+        last[phase] = d;
+        phases[phase].record(d);
+        return now;
+    }
+
+    public LatencyHistogram get(int phase) { return phases[phase]; }
+
+    public void reset() {
+        for (LatencyHistogram h : phases) h.reset();
+    }
+
+    /** ให้ thread ที่วาด (EDT หรือ game thread) ลงทะเบียนตัวเอง เพื่อรวม allocation ของมันด้วย */
+    public void notePainterThread() {
+        long id = Thread.currentThread().getId();
+        if (painterThreadId != id) painterThreadId = id;
+    }
+
+    /** Refreshes allocation rate and GC counters at most twice a second; call from the game loop. */
+    public void sampleRuntime(long nowNanos) {
+        if (nowNanos - lastSampleNanos < SAMPLE_INTERVAL_NANOS) return;
+        if (threads != null) {
+            long self = Thread.currentThread().getId();
+            long bytes = threads.getThreadAllocatedBytes(self);
+            long painter = painterThreadId;
+            if (painter != -1 && painter != self) {
+                long p = threads.getThreadAllocatedBytes(painter);
+                if (p > 0) bytes += p;
+            }
+            if (lastAllocatedBytes >= 0 && lastSampleNanos != 0) {
+                allocBytesPerSec = Math.max(0, bytes - lastAllocatedBytes) * 1e9 / (nowNanos - lastSampleNanos);
+            }
+            lastAllocatedBytes = bytes;
+        }
+        long count = 0, time = 0;
+        for (int i = 0; i < gcs.size(); i++) {
+            GarbageCollectorMXBean gc = gcs.get(i);
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        gcCount = count;
+        gcTimeMillis = time;
+        lastSampleNanos = nowNanos;
+    }
+
+    /** menu-to-first-frame ของด่านนี้ (แสดงใน overlay) */
+    public void setFirstFrameNanos(long nanos) { firstFrameNanos = nanos; }
+
+    public double getAllocBytesPerSec() { return allocBytesPerSec; }
+    public long getGcCount() { return gcCount; }
+    public long getGcTimeMillis() { return gcTimeMillis; }
+
+    /** วาดตาราง p50/p99/max ของแต่ละ phase + จำนวน entity + allocation/GC ที่มุมซ้ายล่าง */
+    public void drawOverlay(Graphics2D g, int x, int bottomY, RenderSnapshot snap) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setFont(font);
+        int lineH = 14;
+        int lines = PHASES + 7;
+        int top = bottomY - lines * lineH - 8;
+        g2.setColor(new Color(0, 0, 0, 170));
+        g2.fillRect(x, top, 330, lines * lineH + 8);
+        g2.setColor(Color.WHITE);
+
+        int y = top + lineH;
+        g2.drawString(String.format("%-10s %7s %7s %7s %7s", "phase(ms)", "last", "p50", "p99", "max"), x + 6, y);
+        for (int i = 0; i < PHASES; i++) {
+            LatencyHistogram h = phases[i];
+            y += lineH;
+            g2.drawString(String.format("%-10s %7.3f %7.3f %7.3f %7.3f", NAMES[i], last[i] / 1e6,
+                    h.percentile(50) / 1e6, h.percentile(99) / 1e6, h.getMaxNanos() / 1e6), x + 6, y);
+        }
+        y += lineH;
+        g2.drawString(String.format("obst %d  rock %d  meteor %d  ufo %d  coin %d",
+                snap.getObstacles().size(), snap.getRocks().size(), snap.getMeteors().size(),
+                snap.getUfos().size(), snap.getCoins().size()), x + 6, y);
+        y += lineH;
+        SpriteCache sprites = SpriteCache.shared();
+        g2.drawString(String.format("sprite cache %d hit  %d miss  %d evict",
+                sprites.getHits(), sprites.getMisses(), sprites.getEvictions()), x + 6, y);
+        y += lineH;
+        g2.drawString(String.format("entity pool  %d hit  %d miss",
+                snap.getPoolHits(), snap.getPoolMisses()), x + 6, y);
+        y += lineH;
+        g2.drawString(threads != null
+                ? String.format("alloc %.1f KB/s", allocBytesPerSec / 1024.0)
+                : "alloc n/a", x + 6, y);
+        y += lineH;
+        g2.drawString(String.format("gc %d collections, %d ms total", gcCount, gcTimeMillis), x + 6, y);
+        y += lineH;
+        g2.drawString(firstFrameNanos > 0
+                ? String.format("menu->first frame %.1f ms", firstFrameNanos / 1e6)
+                : "menu->first frame n/a", x + 6, y);
+        g2.dispose();
+    }
+}
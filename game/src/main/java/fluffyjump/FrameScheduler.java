@@ -0,0 +1,30 @@
+package fluffyjump;
+
+/**
+ * Decides how the game loop waits between frames. The loop calls {@link #awaitNextFrame()} after each
+ * frame and {@link #reset()} after it has been idle, so the scheduler does not try to catch up on time
+ * spent asleep.
+ */
+public interface FrameScheduler {
+
+    /** Waits until the next frame is due; returns how late (nanos) this frame finished, 0 if on time. */
+    long awaitNextFrame();
+
+    /** ลืม deadline เดิม (เรียกหลังกลับมาจาก idle) */
+    void reset();
+
+    /** Target frame period in nanos, 0 = uncapped. */
+    long getFramePeriodNanos();
+
+    /** 0 or less = uncapped, otherwise {@link AdaptiveFrameScheduler} at that rate. */
+    static FrameScheduler forFps(int fps) {
+        return fps > 0 ? new AdaptiveFrameScheduler(fps) : new Uncapped();
+    }
+
+    /** วาดเร็วเท่าที่ทำได้ แค่ yield ให้ thread อื่น (EDT) ได้ทำงานบ้าง */
+    final class Uncapped implements FrameScheduler {
+        @Override public long awaitNextFrame() { Thread.yield(); return 0; }
+        @Override public void reset() {}
+        @Override public long getFramePeriodNanos() { return 0; }
+    }
+}
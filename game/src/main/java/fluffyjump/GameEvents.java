@@ -0,0 +1,140 @@
+package fluffyjump;
+
+import jdk.jfr.*;
+
+/**
+ * Custom JDK Flight Recorder events for the game loop, to be lined up with GC and safepoint events in
+ * JMC. Every event is {@code @Enabled(false)}: turn them on in a recording's .jfc settings (or with
+ * {@code Recording.enable("fluffyjump.Frame")} etc.). The static helpers check the event type before
+ * allocating anything, so a disabled event costs one boolean read.
+ */
+public final class GameEvents {
+    private GameEvents() {}
+
+    @Name("fluffyjump.Frame")
+    @Label("Frame")
+    @Category({"FluffyJump", "Loop"})
+    @Description("One game-loop iteration: simulation ticks followed by render/present")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Frame extends Event {
+        @Label("Last Tick") long tick;
+        @Label("Steps") int steps;
+        @Label("Tick Time") @Timespan(Timespan.NANOSECONDS) long tickNanos;
+        @Label("Paint Time") @Timespan(Timespan.NANOSECONDS) long paintNanos;
+    }
+
+    @Name("fluffyjump.Spawn")
+    @Label("Entity Spawn")
+    @Category({"FluffyJump", "Entities"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Spawn extends Event {
+        @Label("Entity Type") String type;
+        @Label("Tick") long tick;
+        @Label("Live Count") int liveCount;
+    }
+
+    @Name("fluffyjump.Despawn")
+    @Label("Entity Despawn")
+    @Category({"FluffyJump", "Entities"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Despawn extends Event {
+        @Label("Entity Type") String type;
+        @Label("Reason") String reason;
+        @Label("Tick") long tick;
+        @Label("Live Count") int liveCount;
+    }
+
+    @Name("fluffyjump.Collision")
+    @Label("Collision Hit")
+    @Category({"FluffyJump", "Entities"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class CollisionHit extends Event {
+        @Label("Effect") String effect;
+        @Label("Tick") long tick;
+        @Label("HP After") int hp;
+        @Label("Score After") int score;
+    }
+
+    @Name("fluffyjump.LoopOverrun")
+    @Label("Loop Overrun")
+    @Category({"FluffyJump", "Loop"})
+    @Description("The frame finished after its deadline, so the loop could not sleep")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class LoopOverrun extends Event {
+        @Label("Overrun") @Timespan(Timespan.NANOSECONDS) long overrunNanos;
+        @Label("Frame Budget") @Timespan(Timespan.NANOSECONDS) long budgetNanos;
+    }
+
+    // ชื่อชนิด entity ใช้ร่วมกันทั้ง spawn/despawn
+    public static final String TYPE_OBSTACLE = "obstacle";
+    public static final String TYPE_ROCK = "rock";
+    public static final String TYPE_METEOR = "meteor";
+    public static final String TYPE_UFO = "ufo";
+    public static final String TYPE_COIN = "coin";
+    public static final String TYPE_BONUS_COIN = "bonusCoin";
+
+    private static final EventType FRAME = EventType.getEventType(Frame.class);
+    private static final EventType SPAWN = EventType.getEventType(Spawn.class);
+    private static final EventType DESPAWN = EventType.getEventType(Despawn.class);
+    private static final EventType COLLISION = EventType.getEventType(CollisionHit.class);
+    private static final EventType OVERRUN = EventType.getEventType(LoopOverrun.class);
+
+    /** Starts a frame event, or returns null when the event is disabled. */
+    public static Frame beginFrame() {
+        if (!FRAME.isEnabled()) return null;
+        Frame e = new Frame();
+        e.begin();
+        return e;
+    }
+
+    public static void endFrame(Frame e, long tick, int steps, long tickNanos, long paintNanos) {
+        if (e == null) return;
+        e.tick = tick;
+        e.steps = steps;
+        e.tickNanos = tickNanos;
+        e.paintNanos = paintNanos;
+        e.commit();
+    }
+
+    public static void spawn(String type, long tick, int liveCount) {
+        if (!SPAWN.isEnabled()) return;
+        Spawn e = new Spawn();
+        e.type = type;
+        e.tick = tick;
+        e.liveCount = liveCount;
+        e.commit();
+    }
+
+    public static void despawn(String type, String reason, long tick, int liveCount) {
+        if (!DESPAWN.isEnabled()) return;
+        Despawn e = new Despawn();
+        e.type = type;
+        e.reason = reason;
+        e.tick = tick;
+        e.liveCount = liveCount;
+        e.commit();
+    }
+
+    public static void collision(String effect, long tick, int hp, int score) {
+        if (!COLLISION.isEnabled()) return;
+        CollisionHit e = new CollisionHit();
+        e.effect = effect;
+        e.tick = tick;
+        e.hp = hp;
+        e.score = score;
+        e.commit();
+    }
+
+    public static void loopOverrun(long overrunNanos, long budgetNanos) {
+        if (!OVERRUN.isEnabled()) return;
+        LoopOverrun e = new LoopOverrun();
+        e.overrunNanos = overrunNanos;
+        e.budgetNanos = budgetNanos;
+        e.commit();
+    }
+}
@@ -0,0 +1,674 @@
+package fluffyjump;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Headless game core: owns the player and every entity list and advances them one tick at a time.
+ * Nothing here touches AWT, Swing or a window (drawing lives in {@link EntityRenderer}), so runs can be stepped
+ * off-screen (balancing, regression checks).
+ * {@link RunnerGame} only feeds input/viewport size in and renders the state out.
+ *
+ * <p>Every tick is exactly {@link #TICK_NANOS} long and all randomness comes from the seed, through the run's
+ * {@link SpawnSchedule}, so the same seed + the same input per tick replays bit-for-bit. {@link #copyFrom}
+ * clones a run mid-game (position in the course included) into another simulation of the same level, for
+ * lookahead.
+ *
+ * <p>With {@link #getParallelThreshold()} or more meteors on screen, their motion, off-screen test and player
+ * hit test run split across a {@link ForkJoinPool}. Each range writes only its own slots; removals and events
+ * are then applied on the stepping thread in the same order as the sequential loop, so the result is identical
+ * bit-for-bit whichever path ran (and on however many threads).
+ */
+public class GameSimulation {
+
+    public static final int GROUND_Y = 450; // พื้นคงที่ (ไม่ขยับตาม resize)
+    public static final int SPEED_BASE = 4;
+    private static final double SPEED_UP_PER_SEC = 0.20;
+    public static final int WIN_SCORE = 100;
+
+    // entity ปรับความเร็วเป็น "พิกเซลต่อ tick" ไว้ที่ 60Hz จึงล็อก tick rate ไว้ที่ 60
+    public static final int TICK_HZ = 60;
+    public static final long TICK_NANOS = 1_000_000_000L / TICK_HZ;
+    private static final double TICK_SECONDS = TICK_NANOS / 1_000_000_000.0;
+
+    private static final long INVINCIBLE_NANOS = 1_000_000_000L;
+    private static final long SCORE_PENALTY_COOLDOWN_NANOS = 600_000_000L;
+
+    private static final int MAX_POOL_PREALLOC = 16;
+
+    // meteor ตั้งแต่เท่านี้ขึ้นไปจึงแบ่ง update ไปหลาย core (ต่ำกว่านี้ค่า fork/join แพงกว่างาน)
+    public static final int DEFAULT_PARALLEL_THRESHOLD = Integer.getInteger("fluffyjump.parallelUpdate", 4096);
+    private static final int PARALLEL_CHUNK = 1024; // meteor ต่อ task ก่อนจะแตก task ย่อย
+    private static final int GRID_CELL = 128;        // >= meteor ใหญ่สุด: คู่ที่ชนกันอยู่ห่างกันไม่เกินหนึ่ง cell
+    private static final int GRID_MARGIN = 160;     // meteor เกิดเหนือจอและหายไปหลังพ้นขอบ 80
+
+    private final RunnerGame.Level level;
+    // จำนวนสูงสุดบนจอต่อชนิด มาจากตาราง spawn ของด่าน (SpawnDirector.Table)
+    private final int[] caps = new int[SpawnSchedule.BONUS_COIN + 1];
+    private final int meteorSizeMin, meteorSizeMax;
+    private int width = 800;
+    private int height = 600;
+
+    private Player player;
+    private ArrayList<Obstacle> obstacles;
+    private ArrayList<Coin> coins;
+    private ArrayList<RollingRock> rocks;
+
+    // Planet only (meteor อยู่ใน struct-of-arrays store เพราะจำนวนเยอะ)
+    private final EntityStore meteors = new EntityStore(64);
+    // broad phase ของ meteor: ตาม store ไปทีละ tick (removeAt/advance) ย้ายเฉพาะลูกที่ข้าม cell
+    private final SpatialGrid meteorGrid = new SpatialGrid(GRID_CELL);
+    private ArrayList<UFO> ufos;
+
+    // update แบบขนาน: ผลต่อ meteor (ออกนอกจอแล้วไหม) และผลชนผู้เล่นที่ collide() ใช้ต่อ
+    private ForkJoinPool updatePool = ForkJoinPool.commonPool();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private boolean[] meteorGone = new boolean[0];
+    private boolean meteorHitKnown, meteorHit;
+
+    // pool ต่อชนิด: อยู่ข้าม reset() เพื่อให้เล่นรอบใหม่ก็ยังไม่ต้อง new
+    private final EntityPool<Obstacle> obstaclePool;
+    private final EntityPool<RollingRock> rockPool;
+    private final EntityPool<Coin> coinPool;
+    private final EntityPool<Coin> bonusCoinPool;
+    private final EntityPool<UFO> ufoPool;
+
+    // course ของรอบนี้ (สร้างล่วงหน้าบน thread อื่น) และตำแหน่งที่เดินถึงแล้ว
+    private SpawnSchedule schedule;
+    private SpawnSchedule.Chunk spawnChunk;
+    private int spawnIndex;
+    private final SimRandom spawnRandom = new SimRandom(0);
+    private long seed;
+
+    private int maxHp = 3;
+    private int hp = maxHp;
+    private int score = 0;
+    private int gameSpeed = SPEED_BASE;
+    private boolean gameOver = false;
+    private boolean won = false;
+
+    private boolean leftPressed = false;
+    private boolean rightPressed = false;
+    // กดแล้วปล่อยภายใน tick เดียว: ยังให้ขยับหนึ่ง tick (ไม่ให้ tap หาย)
+    private boolean leftTap = false;
+    private boolean rightTap = false;
+    private int jumpsThisTick = 0;
+
+    private int coinsCollected = 0;
+    private int nextSpeedUpAt = 10;
+
+    private FrameProfiler profiler;
+    private ReplayRecorder recorder;
+    private ParticleSystem particles;
+
+    // นาฬิกาของเกมเอง (ไม่ใช้ System.nanoTime) เพื่อให้รันแบบ headless ได้เร็วเท่าที่ CPU ไหว
+    private long timeNanos = 0;
+    private long tick = 0;
+    private long invincibleUntilNanos = 0;
+    private long scorePenaltyUntilNanos = 0;
+
+    // ระยะทางที่วิ่งมาแล้ว (พิกเซล) ใช้เลื่อนพื้นหลัง
+    private double scrollX = 0, prevScrollX = 0;
+
+    public GameSimulation(RunnerGame.Level level) {
+        this(level, System.nanoTime());
+    }
+
+    public GameSimulation(RunnerGame.Level level, long seed) {
+        this(level, SpawnDirector.Table.forLevel(level));
+        reset(seed);
+    }
+
+    /**
+     * Simulation with no run started: no spawn schedule, nothing to step until {@link #copyFrom} fills it in.
+     * For scratch simulations that are only ever copy targets (lookahead rollouts, benchmarks); building a
+     * schedule for them would be thrown away on the first copy.
+     */
+    static GameSimulation copyTarget(RunnerGame.Level level) {
+        return new GameSimulation(level, SpawnDirector.Table.forLevel(level));
+    }
+
+    private GameSimulation(RunnerGame.Level level, SpawnDirector.Table table) {
+        this.level = level;
+        for (int type = 0; type < caps.length; type++) caps[type] = table.getCap(type);
+        boolean sized = table.getSizeMin(SpawnSchedule.METEOR) > 0;
+        meteorSizeMin = sized ? table.getSizeMin(SpawnSchedule.METEOR) : Meteor.MIN_SIZE;
+        meteorSizeMax = sized ? table.getSizeMax(SpawnSchedule.METEOR) : Meteor.MAX_SIZE;
+        obstaclePool  = new EntityPool<>(Obstacle::new, prealloc(SpawnSchedule.OBSTACLE));
+        rockPool      = new EntityPool<>(RollingRock::new, prealloc(SpawnSchedule.ROCK));
+        coinPool      = new EntityPool<>(Coin::new, prealloc(SpawnSchedule.COIN));
+        bonusCoinPool = new EntityPool<>(BonusCoin::new, prealloc(SpawnSchedule.BONUS_COIN));
+        ufoPool       = new EntityPool<>(UFO::new, prealloc(SpawnSchedule.UFO));
+        obstacles = new ArrayList<>(prealloc(SpawnSchedule.OBSTACLE));
+        coins     = new ArrayList<>(prealloc(SpawnSchedule.COIN));
+        rocks     = new ArrayList<>(prealloc(SpawnSchedule.ROCK));
+        ufos      = new ArrayList<>(prealloc(SpawnSchedule.UFO));
+        player = new Player(100, GROUND_Y);
+        fitGrid();
+    }
+
+    /** จองล่วงหน้าเท่า cap (ชนิดที่ด่านนี้ไม่มีได้ 0) แต่ไม่เกิน MAX_POOL_PREALLOC */
+    private int prealloc(int spawnType) {
+        return Math.min(caps[spawnType], MAX_POOL_PREALLOC);
+    }
+
+    /** เริ่มเกมใหม่ด้วย seed ใหม่ */
+    public void reset() { reset(System.nanoTime()); }
+
+    public void reset(long seed) {
+        player = new Player(100, GROUND_Y);
+        player.setPlayArea(0, width);
+
+        obstaclePool.releaseAll(obstacles);
+        rockPool.releaseAll(rocks);
+        meteors.clear();
+        meteorGrid.clear();
+        ufoPool.releaseAll(ufos);
+        for (int i = coins.size() - 1; i >= 0; i--) (coins.get(i).isBonus() ? bonusCoinPool : coinPool).releaseAt(coins, i);
+        schedule   = SpawnSchedule.of(level, seed);
+        spawnChunk = schedule.first();
+        spawnIndex = 0;
+        this.seed  = seed;
+
+        score          = 0;
+        coinsCollected = 0;
+        nextSpeedUpAt  = 10;
+
+        gameSpeed = SPEED_BASE;
+        gameOver  = false;
+        won       = false;
+
+        hp = maxHp;
+        leftPressed = rightPressed = false;
+        leftTap = rightTap = false;
+        jumpsThisTick = 0;
+
+        timeNanos = 0;
+        tick = 0;
+        scrollX = prevScrollX = 0;
+        invincibleUntilNanos = 0;
+        scorePenaltyUntilNanos = 0;
+        if (particles != null) particles.reset(seed);
+    }
+
+    /**
+     * Makes this simulation an exact copy of {@code other}: player, every entity, counters, clock and the
+     * position in the (shared, read-only) spawn schedule, so stepping both with the same input gives the same result. Entities come from this
+     * simulation's own pools, so once they are warm a copy allocates nothing. The profiler, replay
+     * recorder, particles and parallel-update settings are not copied. Both must be the same level.
+     */
+    public void copyFrom(GameSimulation o) {
+        if (o.level != level) throw new IllegalArgumentException("level " + o.level + " != " + level);
+        width = o.width;
+        height = o.height;
+        player.copyFrom(o.player);
+
+        obstaclePool.releaseAll(obstacles);
+        for (int i = 0; i < o.obstacles.size(); i++) obstacles.add(obstaclePool.obtain().copyFrom(o.obstacles.get(i)));
+        rockPool.releaseAll(rocks);
+        for (int i = 0; i < o.rocks.size(); i++) rocks.add(rockPool.obtain().copyFrom(o.rocks.get(i)));
+        ufoPool.releaseAll(ufos);
+        for (int i = 0; i < o.ufos.size(); i++) ufos.add(ufoPool.obtain().copyFrom(o.ufos.get(i)));
+        for (int i = coins.size() - 1; i >= 0; i--) (coins.get(i).isBonus() ? bonusCoinPool : coinPool).releaseAt(coins, i);
+        for (int i = 0; i < o.coins.size(); i++) {
+            Coin c = o.coins.get(i);
+            coins.add((c.isBonus() ? bonusCoinPool : coinPool).obtain().copyFrom(c));
+        }
+        meteors.copyFrom(o.meteors);
+        meteorGrid.copyFrom(o.meteorGrid);
+
+        schedule = o.schedule;
+        spawnChunk = o.spawnChunk;
+        spawnIndex = o.spawnIndex;
+        seed = o.seed;
+        maxHp = o.maxHp; hp = o.hp; score = o.score; gameSpeed = o.gameSpeed;
+        gameOver = o.gameOver; won = o.won;
+        leftPressed = o.leftPressed; rightPressed = o.rightPressed;
+        leftTap = o.leftTap; rightTap = o.rightTap; jumpsThisTick = o.jumpsThisTick;
+        coinsCollected = o.coinsCollected; nextSpeedUpAt = o.nextSpeedUpAt;
+        timeNanos = o.timeNanos; tick = o.tick;
+        invincibleUntilNanos = o.invincibleUntilNanos; scorePenaltyUntilNanos = o.scorePenaltyUntilNanos;
+        scrollX = o.scrollX; prevScrollX = o.prevScrollX;
+    }
+
+    /** ขนาดพื้นที่เล่น (RunnerGame ใช้ขนาด logical คงที่ 800x600 เท่ากับค่า default ของ headless) */
+    public void setViewport(int width, int height) {
+        this.width  = Math.max(1, width);
+        this.height = Math.max(1, height);
+        fitGrid();
+    }
+
+    private void fitGrid() {
+        meteorGrid.setBounds(-GRID_MARGIN, -GRID_MARGIN, width + 2 * GRID_MARGIN, height + 2 * GRID_MARGIN);
+    }
+
+    public void setLeftPressed(boolean pressed)  { leftPressed = pressed; }
+    public void setRightPressed(boolean pressed) { rightPressed = pressed; }
+    public void jump() { player.jump(); jumpsThisTick++; }
+
+    /** Applies one {@link InputQueue} event; call between ticks from the thread that steps the simulation. */
+    public void applyInput(int code) {
+        switch (code) {
+            case InputQueue.LEFT_DOWN:  leftPressed = true;  leftTap = true;  break;
+            case InputQueue.LEFT_UP:    leftPressed = false; break;
+            case InputQueue.RIGHT_DOWN: rightPressed = true; rightTap = true; break;
+            case InputQueue.RIGHT_UP:   rightPressed = false; break;
+            case InputQueue.JUMP:       jump(); break;
+            default: break;
+        }
+    }
+
+    public boolean isFinished() { return gameOver || won; }
+
+    /** ตั้ง profiler สำหรับจับเวลาแต่ละ phase ของ tick (null = ไม่จับ, เช่นตอนรัน headless) */
+    public void setProfiler(FrameProfiler profiler) { this.profiler = profiler; }
+
+    /**
+     * Splits the meteor update across {@code pool} once at least {@code threshold} meteors are live
+     * ({@code Integer.MAX_VALUE} = always sequential). Changes only how fast a tick runs, never its result.
+     */
+    public void setParallelUpdate(ForkJoinPool pool, int threshold) {
+        this.updatePool = pool;
+        this.parallelThreshold = Math.max(1, threshold);
+    }
+
+    /**
+     * Particles to emit on pickups, hits, rolling rocks and meteor impacts (null = none, e.g. headless).
+     * Cosmetic only: the run plays out the same with or without them.
+     */
+    public void setParticles(ParticleSystem particles) {
+        this.particles = particles;
+        if (particles != null) particles.reset(seed);
+    }
+
+    /** บันทึก input ของทุก tick ลง replay (null = ไม่บันทึก); เรียกหลัง reset เพราะ replay เริ่มจาก seed */
+    public void setRecorder(ReplayRecorder recorder) { this.recorder = recorder; }
+
+    /** Advances the game by one fixed tick of {@link #TICK_NANOS}. */
+    public void step() {
+        if (spawnChunk == null) throw new IllegalStateException("copy target: copyFrom() before step()");
+        FrameProfiler p = profiler;
+        long tickStart = p != null ? System.nanoTime() : 0;
+        timeNanos += TICK_NANOS;
+        tick++;
+        player.setPlayArea(0, width);
+
+        double newSpeed = gameSpeed + SPEED_UP_PER_SEC * TICK_SECONDS;
+        gameSpeed = (int)Math.round(newSpeed);
+        if (gameSpeed < SPEED_BASE) gameSpeed = SPEED_BASE;
+
+        boolean left = leftPressed || leftTap, right = rightPressed || rightTap;
+        if (recorder != null) recorder.recordTick(left, right, jumpsThisTick, width, height);
+        player.update(left, right);
+        leftTap = rightTap = false;
+        jumpsThisTick = 0;
+        prevScrollX = scrollX;
+        scrollX += gameSpeed;
+
+        if (p == null) {
+            spawn();
+            updateEntities();
+            collide();
+            return;
+        }
+        long t = System.nanoTime();
+        spawn();
+        t = p.lap(FrameProfiler.SPAWN, t);
+        updateEntities();
+        t = p.lap(FrameProfiler.UPDATE, t);
+        collide();
+        p.lap(FrameProfiler.COLLISION, t);
+        p.lap(FrameProfiler.TICK, tickStart);
+    }
+
+    /** pop ทุก spawn ของ tick นี้จาก schedule (ตัดสินไว้ล่วงหน้าแล้ว ไม่มีการสุ่มใน hot loop) */
+    private void spawn() {
+        SpawnSchedule.Chunk c = spawnChunk;
+        while (true) {
+            if (spawnIndex == c.size()) {
+                if (tick < c.getEndTick()) break;
+                c = spawnChunk = schedule.next(c);
+                spawnIndex = 0;
+                continue;
+            }
+            if (c.getTick(spawnIndex) > tick) break;
+            spawnOne(c, spawnIndex++);
+        }
+    }
+
+    private void spawnOne(SpawnSchedule.Chunk c, int i) {
+        // ขนาด/ตำแหน่งสุ่มจาก seed ของ spawn นั้นเอง จึงได้ค่าเดิมเสมอไม่ว่าจะ pop ตอนไหน
+        spawnRandom.setSeed(c.getSeed(i));
+        switch (c.getType(i)) {
+            case SpawnSchedule.OBSTACLE:
+                if (obstacles.size() < caps[SpawnSchedule.OBSTACLE]) {
+                    obstacles.add(obstaclePool.obtain().reset(width, GROUND_Y, spawnRandom));
+                    GameEvents.spawn(GameEvents.TYPE_OBSTACLE, tick, obstacles.size());
+                }
+                break;
+            case SpawnSchedule.ROCK:
+                if (rocks.size() < caps[SpawnSchedule.ROCK]) {
+                    rocks.add(rockPool.obtain().reset(width, GROUND_Y, spawnRandom));
+                    GameEvents.spawn(GameEvents.TYPE_ROCK, tick, rocks.size());
+                }
+                break;
+            case SpawnSchedule.METEOR: {
+                // param = จำนวนต่อครั้ง (ฝน meteor ปล่อยทีละหลายสิบลูก)
+                int n = Math.min(Math.max(1, c.getParam(i)), caps[SpawnSchedule.METEOR] - meteors.size());
+                int spread = Math.max(1, width - 40 + Meteor.spawnLead(gameSpeed));
+                for (int k = 0; k < n; k++) {
+                    int sx = spawnRandom.nextInt(spread);
+                    Meteor.spawn(meteors, sx, -60, gameSpeed, spawnRandom, meteorSizeMin, meteorSizeMax);
+                }
+                if (n > 0) GameEvents.spawn(GameEvents.TYPE_METEOR, tick, meteors.size());
+                break;
+            }
+            case SpawnSchedule.UFO:
+                if (ufos.size() < caps[SpawnSchedule.UFO]) {
+                    ufos.add(ufoPool.obtain().reset(width + 20, GROUND_Y));
+                    GameEvents.spawn(GameEvents.TYPE_UFO, tick, ufos.size());
+                }
+                break;
+            case SpawnSchedule.COIN:
+            case SpawnSchedule.BONUS_COIN:
+                if (coins.size() < caps[c.getType(i)]) {
+                    boolean bonus = c.getType(i) == SpawnSchedule.BONUS_COIN;
+                    coins.add((bonus ? bonusCoinPool : coinPool).obtain().reset(width, c.getParam(i)));
+                    GameEvents.spawn(bonus ? GameEvents.TYPE_BONUS_COIN : GameEvents.TYPE_COIN, tick, coins.size());
+                    checkWin();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** ขยับทุก entity และลบตัวที่ออกนอกจอ */
+    private void updateEntities() {
+        if (level == RunnerGame.Level.EARTH) {
+            // วนจากท้ายมาหน้าเพราะลบแบบ swap-remove
+            for (int i = obstacles.size() - 1; i >= 0; i--) {
+                Obstacle o = obstacles.get(i);
+                o.update(gameSpeed);
+                if (o.getX() + o.getWidth() < 0) {
+                    obstaclePool.releaseAt(obstacles, i);
+                    GameEvents.despawn(GameEvents.TYPE_OBSTACLE, "offscreen", tick, obstacles.size());
+                }
+            }
+            for (int i = rocks.size() - 1; i >= 0; i--) {
+                RollingRock r = rocks.get(i);
+                r.update(gameSpeed);
+                if (particles != null && (tick + i) % 3 == 0) particles.dust(r, GROUND_Y);
+                if (r.isOffscreenLeft(80)) {
+                    rockPool.releaseAt(rocks, i);
+                    GameEvents.despawn(GameEvents.TYPE_ROCK, "offscreen", tick, rocks.size());
+                }
+            }
+        } else {
+            meteorHitKnown = meteors.size() >= parallelThreshold;
+            if (meteorHitKnown) {
+                updateMeteorsParallel();
+            } else {
+                meteors.integrate();
+                for (int i = meteors.size() - 1; i >= 0; i--) {
+                    if (Meteor.isOffscreen(meteors, i, width, height, 80)) {
+                        meteorGrid.removeAt(meteors, i);
+                        meteors.removeAt(i);
+                        GameEvents.despawn(GameEvents.TYPE_METEOR, "offscreen", tick, meteors.size());
+                    }
+                }
+            }
+            meteorGrid.advance(meteors);
+            if (particles != null) emitMeteorImpacts();
+            for (int i = ufos.size() - 1; i >= 0; i--) {
+                UFO u = ufos.get(i);
+                u.update(gameSpeed);
+                if (u.isOffscreenLeft(80)) {
+                    ufoPool.releaseAt(ufos, i);
+                    GameEvents.despawn(GameEvents.TYPE_UFO, "offscreen", tick, ufos.size());
+                }
+            }
+        }
+
+        for (int i = coins.size() - 1; i >= 0; i--) {
+            Coin c = coins.get(i);
+            c.update(gameSpeed);
+            // ถ้าออกซ้ายจอ มี margin 80 ก็ลบทิ้ง
+            if (c.isOffscreenLeft(80)) releaseCoinAt(i, "offscreen");
+        }
+        if (particles != null) particles.update(gameSpeed, GROUND_Y);
+    }
+
+    /** meteor ที่ขอบล่างเพิ่งข้ามเส้นพื้นใน tick นี้ (ยังตกต่อจนพ้นจอเหมือนเดิม แค่มีเศษหินกระเด็น) */
+    private void emitMeteorImpacts() {
+        final double[] y = meteors.y, py = meteors.prevY, x = meteors.x;
+        final int[] size = meteors.size;
+        for (int i = 0, n = meteors.size(); i < n; i++) {
+            int s = size[i];
+            if (py[i] + s < GROUND_Y && y[i] + s >= GROUND_Y) particles.impact(x[i] + s * 0.5, GROUND_Y, s);
+        }
+    }
+
+    /**
+     * Parallel version of the meteor loop: every range integrates its meteors, marks the ones that left the
+     * screen and tests the rest against the player. The removals are then done here, back to front like the
+     * sequential loop, so swap-remove leaves the store in exactly the same order.
+     */
+    private void updateMeteorsParallel() {
+        int n = meteors.size();
+        if (meteorGone.length < n) meteorGone = new boolean[Math.max(n, meteorGone.length * 2)];
+        MeteorRange all = new MeteorRange(0, n);
+        updatePool.invoke(all);
+        meteorHit = all.hit;
+        for (int i = n - 1; i >= 0; i--) {
+            if (meteorGone[i]) {
+                meteorGrid.removeAt(meteors, i);
+                meteors.removeAt(i);
+                GameEvents.despawn(GameEvents.TYPE_METEOR, "offscreen", tick, meteors.size());
+            }
+        }
+    }
+
+    private final class MeteorRange extends RecursiveAction {
+        private final int from, to;
+        private boolean hit; // มีลูกที่ยังอยู่ในจอชนผู้เล่นไหม (รวมจากลูกหลังจบ invokeAll)
+
+        MeteorRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                meteors.integrate(from, to);
+                // ผู้เล่นขยับไปแล้วใน step() ก่อน update: ตรวจชนตรงนี้ได้ผลเดียวกับใน collide()
+                double cx = player.getX() + 25, cy = player.getY() + 25;
+                for (int i = from; i < to; i++) {
+                    boolean gone = Meteor.isOffscreen(meteors, i, width, height, 80);
+                    meteorGone[i] = gone;
+                    if (!gone && !hit) hit = meteors.circleHits(i, cx, cy, 25);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            MeteorRange left = new MeteorRange(from, mid), right = new MeteorRange(mid, to);
+            invokeAll(left, right);
+            hit = left.hit || right.hit;
+        }
+    }
+
+    /** ตรวจการชนของผู้เล่นกับทุก entity (ลำดับเดียวกับตอนรวมอยู่ใน loop update เดิม) */
+    private void collide() {
+        if (level == RunnerGame.Level.EARTH) {
+            for (int i = obstacles.size() - 1; i >= 0; i--) {
+                if (checkPlayerHitObstacle(obstacles.get(i))) loseHeart();
+            }
+            for (int i = rocks.size() - 1; i >= 0; i--) {
+                if (checkPlayerHitRock(rocks.get(i))) applyScorePenalty();
+            }
+        } else {
+            // ถ้า update แบบขนาน ผลชน meteor คิดไว้แล้วระหว่าง update (เวลาจึงไปอยู่ใน phase UPDATE ของ profiler)
+            if (meteorHitKnown ? meteorHit : playerHitsAnyMeteor()) applyScorePenalty();
+            for (int i = ufos.size() - 1; i >= 0; i--) {
+                UFO u = ufos.get(i);
+                if (checkPlayerHitRect(u.getX(), u.getY(), u.getWidth(), u.getHeight())) loseHeart();
+            }
+        }
+
+        for (int i = coins.size() - 1; i >= 0; i--) {
+            Coin c = coins.get(i);
+            if (checkPlayerTakeCoin(c)) {
+                if (particles != null) {
+                    particles.burst(c.isBonus() ? ParticleSystem.BONUS_SPARKLE : ParticleSystem.SPARKLE,
+                                    c.getCenterX(), c.getCenterY(), c.isBonus() ? 24 : 12, 3);
+                }
+                if (c.isBonus()) {
+                    // โบนัส: +หัวใจ (ไม่เกิน max) และ +30 คะแนน
+                    hp = Math.min(maxHp, hp + 1);
+                    score += 30;
+                } else {
+                    score += 10;
+                }
+                releaseCoinAt(i, "collected");
+
+                // นับเหรียญและเร่งความเร็วเป็นช่วง ๆ
+                coinsCollected++;
+                if (coinsCollected >= nextSpeedUpAt) {
+                    gameSpeed++;
+                    nextSpeedUpAt += 10;
+                }
+            }
+        }
+    }
+
+    private boolean playerHitsAnyMeteor() {
+        // ดูแค่ cell รอบตัวผู้เล่น (ผลเหมือน meteors.firstCircleHit(...) >= 0 ทุกกรณี)
+        return meteorGrid.anyCircleHit(meteors, player.getX() + 25, player.getY() + 25, 25);
+    }
+
+    /**
+     * Meteor-vs-meteor broad phase: every pair of live meteors whose boxes overlap, as store indices into
+     * outA/outB (see {@link SpatialGrid#queryPairs}); returns the pair count.
+     */
+    public int meteorPairs(int[] outA, int[] outB) {
+        return meteorGrid.queryPairs(meteors, outA, outB);
+    }
+
+    private void releaseCoinAt(int i, String reason) {
+        boolean bonus = coins.get(i).isBonus();
+        (bonus ? bonusCoinPool : coinPool).releaseAt(coins, i);
+        GameEvents.despawn(bonus ? GameEvents.TYPE_BONUS_COIN : GameEvents.TYPE_COIN, reason, tick, coins.size());
+    }
+
+    private void loseHeart() {
+        if (timeNanos >= invincibleUntilNanos) {
+            hp--; invincibleUntilNanos = timeNanos + INVINCIBLE_NANOS;
+            if (particles != null) particles.burst(ParticleSystem.HIT, player.getX() + 25, player.getY() + 25, 16, 4);
+            if (hp <= 0) gameOver = true;
+            GameEvents.collision("hpLoss", tick, hp, score);
+        }
+    }
+
+    private void applyScorePenalty() {
+        if (timeNanos >= scorePenaltyUntilNanos) {
+            score = Math.max(0, score - 50);
+            scorePenaltyUntilNanos = timeNanos + SCORE_PENALTY_COOLDOWN_NANOS;
+            GameEvents.collision("scorePenalty", tick, hp, score);
+        }
+    }
+
+    private void checkWin() {
+        if (!won && score >= WIN_SCORE) {
+            won = true;
+        }
+    }
+
+    private boolean checkPlayerHitObstacle(Obstacle o) {
+        return checkPlayerHitRect(o.getX(), o.getY(), o.getWidth(), o.getHeight());
+    }
+    private boolean checkPlayerHitRect(int x, int y, int w, int h) {
+        return Collision.collideRect(player.getX(), player.getY(), 50, 50, x, y, w, h);
+    }
+    private boolean checkPlayerTakeCoin(Coin c) {
+        return Collision.collideCircle(player.getX()+25, player.getY()+25, 25,
+                             c.getCenterX(), c.getCenterY(), c.getRadius());
+    }
+    private boolean checkPlayerHitRock(RollingRock r) {
+        return Collision.collideCircle(player.getX()+25, player.getY()+25, 25,
+                             r.getCenterX(), r.getCenterY(), r.getRadius());
+    }
+
+    /** คัดลอกสถานะทั้งหมดที่ renderer ต้องใช้ลง snapshot (เรียกจาก thread ของ simulation เท่านั้น) */
+    public void writeSnapshot(RenderSnapshot s) {
+        s.obstacles.clear();
+        for (int i = 0; i < obstacles.size(); i++) obstacles.get(i).snapshot(s.obstacles);
+        s.rocks.clear();
+        for (int i = 0; i < rocks.size(); i++) rocks.get(i).snapshot(s.rocks);
+        s.meteors.copyFrom(meteors);
+        s.ufos.clear();
+        for (int i = 0; i < ufos.size(); i++) ufos.get(i).snapshot(s.ufos);
+        s.coins.clear();
+        for (int i = 0; i < coins.size(); i++) coins.get(i).snapshot(s.coins);
+        if (particles != null) particles.copyTo(s.particles);
+        else s.particles.clear();
+        player.snapshot(s);
+
+        s.score = score;
+        s.gameSpeed = gameSpeed;
+        s.hp = hp;
+        s.maxHp = maxHp;
+        s.gameOver = gameOver;
+        s.won = won;
+        s.invincible = isInvincible();
+        s.prevScrollX = prevScrollX;
+        s.scrollX = scrollX;
+        s.tick = tick;
+        s.poolHits = getPoolHits();
+        s.poolMisses = getPoolMisses();
+    }
+
+    // ===== state for the renderer =====
+    public RunnerGame.Level getLevel() { return level; }
+    public Player getPlayer() { return player; }
+    public List<Obstacle> getObstacles() { return obstacles; }
+    public List<Coin> getCoins() { return coins; }
+    public List<RollingRock> getRocks() { return rocks; }
+    public EntityStore getMeteors() { return meteors; }
+    SpatialGrid getMeteorGrid() { return meteorGrid; }
+    public List<UFO> getUfos() { return ufos; }
+
+    public int getScore() { return score; }
+    public int getGameSpeed() { return gameSpeed; }
+    public int getHp() { return hp; }
+    public int getMaxHp() { return maxHp; }
+    public boolean isGameOver() { return gameOver; }
+    public boolean isWon() { return won; }
+    public boolean isInvincible() { return timeNanos < invincibleUntilNanos; }
+    public long getTimeNanos() { return timeNanos; }
+    public long getTick() { return tick; }
+    public long getSeed() { return seed; }
+
+    /** รวม hit/miss ของทุก {@link EntityPool} (miss = ต้องสร้าง object ใหม่ตอน spawn) */
+    public long getPoolHits() {
+        return obstaclePool.getHits() + rockPool.getHits() + coinPool.getHits()
+                + bonusCoinPool.getHits() + ufoPool.getHits();
+    }
+
+    public long getPoolMisses() {
+        return obstaclePool.getMisses() + rockPool.getMisses() + coinPool.getMisses()
+                + bonusCoinPool.getMisses() + ufoPool.getMisses();
+    }
+    public SpawnSchedule getSpawnSchedule() { return schedule; }
+    public ParticleSystem getParticles() { return particles; }
+    public int getParallelThreshold() { return parallelThreshold; }
+    public double getScrollX(double alpha) { return Entity.lerp(prevScrollX, scrollX, alpha); }
+
+    public EntityPool<Obstacle> getObstaclePool() { return obstaclePool; }
+    public EntityPool<RollingRock> getRockPool() { return rockPool; }
+    public EntityPool<Coin> getCoinPool() { return coinPool; }
+    public EntityPool<Coin> getBonusCoinPool() { return bonusCoinPool; }
+    public EntityPool<UFO> getUfoPool() { return ufoPool; }
+}
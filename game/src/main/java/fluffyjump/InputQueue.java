@@ -0,0 +1,84 @@
+package fluffyjump;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-producer/single-consumer ring buffer of timestamped input events. The EDT offers key events,
+ * the game thread drains them at the start of each tick, so input never touches simulation state from
+ * the wrong thread and a press + release between two ticks still arrives as two events.
+ */
+public class InputQueue {
+    public static final int LEFT_DOWN  = 1;
+    public static final int LEFT_UP    = 2;
+    public static final int RIGHT_DOWN = 3;
+    public static final int RIGHT_UP   = 4;
+    public static final int JUMP       = 5;
+
+    private final int mask;
+    private final int[] codes;
+    private final long[] nanos;
+    private final AtomicLong head = new AtomicLong(); // ตำแหน่งถัดไปที่ consumer จะอ่าน
+    private final AtomicLong tail = new AtomicLong(); // ตำแหน่งถัดไปที่ producer จะเขียน
+
+    // cache ฝั่งละตัว เพื่อไม่ต้องอ่าน atomic ของอีกฝั่งทุกครั้ง
+    private long headCache = 0; // producer only
+    private long tailCache = 0; // consumer only
+
+    // event ที่ poll() ได้ล่าสุด (consumer only)
+    private int polledCode;
+    private long polledNanos;
+
+    /** capacity ถูกปัดขึ้นเป็นกำลังของ 2 */
+    public InputQueue(int capacity) {
+        int cap = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = cap - 1;
+        codes = new int[cap];
+        nanos = new long[cap];
+    }
+
+    /** Producer side. Returns false (event dropped) if the consumer is a full buffer behind. */
+    public boolean offer(int code, long timestampNanos) {
+        long t = tail.get();
+        if (t - headCache > mask) {
+            headCache = head.get();
+            if (t - headCache > mask) return false;
+        }
+        int i = (int) t & mask;
+        codes[i] = code;
+        nanos[i] = timestampNanos;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /** Timestamp of the oldest pending event, or {@code Long.MAX_VALUE} when empty. Consumer side. */
+    public long peekNanos() {
+        long h = head.get();
+        if (h == tailCache) {
+            tailCache = tail.get();
+            if (h == tailCache) return Long.MAX_VALUE;
+        }
+        return nanos[(int) h & mask];
+    }
+
+    /** Takes the oldest event; read it with {@link #polledCode()} / {@link #polledNanos()}. Consumer side. */
+    public boolean poll() {
+        long h = head.get();
+        if (h == tailCache) {
+            tailCache = tail.get();
+            if (h == tailCache) return false;
+        }
+        int i = (int) h & mask;
+        polledCode = codes[i];
+        polledNanos = nanos[i];
+        head.lazySet(h + 1);
+        return true;
+    }
+
+    public int polledCode() { return polledCode; }
+    public long polledNanos() { return polledNanos; }
+
+    /** ทิ้ง event ที่ค้างทั้งหมด (consumer side) */
+    public void clear() {
+        while (poll()) { /* drop */ }
+    }
+}
@@ -0,0 +1,78 @@
+package fluffyjump;
+
+/**
+ * Fixed-size log-linear histogram of durations in nanoseconds (microsecond resolution, 8 sub-buckets per
+ * power of two, so every bucket is within ~12% of its value). Recording is a couple of shifts and an
+ * array increment with no allocation; it is meant to be written by one thread and read approximately by
+ * others (overlay, end-of-run summary).
+ */
+public class LatencyHistogram {
+    private static final int LINEAR = 16;      // 0..15 µs ทีละ 1 µs
+    private static final int SUB_BITS = 3;     // 8 ช่องต่อกำลังของ 2
+    private static final int BUCKETS = LINEAR + (64 - 4) * (1 << SUB_BITS);
+
+    private final String name;
+    private final long[] counts = new long[BUCKETS];
+    private long total = 0;
+    private long maxNanos = 0;
+    private long sumNanos = 0;
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucketOf(nanos / 1000)]++;
+        total++;
+        sumNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    /** ค่า (nanos) ที่ percentile p (0..100); 0 ถ้ายังไม่มีข้อมูล */
+    public long percentile(double p) {
+        long n = total;
+        if (n == 0) return 0;
+        long rank = (long) Math.ceil(n * (p / 100.0));
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) return Math.min(upperMicros(b) * 1000, maxNanos);
+        }
+        return maxNanos;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        maxNanos = 0;
+        sumNanos = 0;
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return total; }
+    public long getMaxNanos() { return maxNanos; }
+    public double getMeanNanos() { return total == 0 ? 0 : sumNanos / (double) total; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d p50=%.2fms p99=%.2fms max=%.2fms", name, total,
+                percentile(50) / 1e6, percentile(99) / 1e6, maxNanos / 1e6);
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < LINEAR) return (int) micros;
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (msb - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return LINEAR + (msb - 4) * (1 << SUB_BITS) + sub;
+    }
+
+    private static long upperMicros(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int k = bucket - LINEAR;
+        int msb = 4 + (k >> SUB_BITS);
+        long sub = k & ((1 << SUB_BITS) - 1);
+        return ((1L << SUB_BITS | sub) + 1) << (msb - SUB_BITS);
+    }
+}
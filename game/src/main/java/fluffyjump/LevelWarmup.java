@@ -0,0 +1,93 @@
+package fluffyjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Warms a level up in the background while the player is still on the menu: waits for the level's
+ * sprites, runs a few thousand headless ticks and paints a few hundred offscreen frames through the
+ * same draw code the game uses. That gets {@code step()} and the draw paths JIT-compiled, fills the
+ * rotation/sprite caches at the game's default render scale, and leaves a {@link BackgroundLayers} with its
+ * layers already built at that backbuffer size for {@link RunnerGame} to take over.
+ */
+public final class LevelWarmup {
+    private static final int WARMUP_TICKS = 6000;
+    private static final int PAINT_EVERY = 20;        // วาดทุก ๆ 20 tick (~300 เฟรม)
+    private static final long WARMUP_SEED = 1234;
+
+    private static final LevelWarmup SHARED = new LevelWarmup();
+
+    private final Map<RunnerGame.Level, Thread> started = new EnumMap<>(RunnerGame.Level.class);
+    private final Map<RunnerGame.Level, BackgroundLayers> ready = new EnumMap<>(RunnerGame.Level.class);
+
+    private LevelWarmup() {}
+
+    public static LevelWarmup shared() { return SHARED; }
+
+    /** Starts warming the level up at the given (logical) size; does nothing if it already started. */
+    public synchronized void warm(RunnerGame.Level level, int width, int height) {
+        if (started.containsKey(level)) return;
+        int w = Math.max(1, width), h = Math.max(1, height);
+        Thread t = new Thread(() -> run(level, w, h), "Warmup-" + level);
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        started.put(level, t);
+        t.start();
+    }
+
+    /**
+     * The warmed-up background for the level, or null if warm-up never ran or is still running (never
+     * waits). Each prepared background is handed out once.
+     */
+    public synchronized BackgroundLayers takeBackground(RunnerGame.Level level) {
+        return ready.remove(level);
+    }
+
+    public synchronized boolean isDone(RunnerGame.Level level) {
+        Thread t = started.get(level);
+        return t != null && !t.isAlive();
+    }
+
+    private void run(RunnerGame.Level level, int w, int h) {
+        AssetManager.shared().await(AssetManager.forLevel(level));
+        GameSimulation sim = new GameSimulation(level, WARMUP_SEED);
+        sim.setViewport(w, h);
+        sim.setParticles(new ParticleSystem(ParticleSystem.DEFAULT_CAPACITY));
+        RenderSnapshot snap = new RenderSnapshot();
+        BackgroundLayers background = BackgroundLayers.forLevel(level);
+        // วาดที่ขนาด backbuffer ของเกมจริง: sprite/frame ใน cache เป็นขนาด pixel ที่เกมจะใช้
+        double scale = RunnerGame.defaultRenderScale();
+        int bw = (int) Math.round(w * scale), bh = (int) Math.round(h * scale);
+        BufferedImage target = createTarget(bw, bh);
+        Graphics2D g2 = target.createGraphics();
+        try {
+            for (int i = 1; i <= WARMUP_TICKS; i++) {
+                if (sim.isFinished()) sim.reset(WARMUP_SEED + i);
+                if (i % 40 == 0) sim.applyInput(InputQueue.JUMP);
+                sim.step();
+                if (i % PAINT_EVERY == 0) {
+                    sim.writeSnapshot(snap);
+                    background.draw(g2, bw, bh, scale, snap.getScrollX(0.5));
+                    RunnerGame.drawEntities(g2, snap, 0.5, scale, bw, bh);
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+        synchronized (this) {
+            ready.put(level, background);
+        }
+    }
+
+    /** ภาพปลายทางชนิดเดียวกับจอ เพื่อให้ layer ที่ cache ไว้ใช้กับจอจริงได้เลย */
+    private static BufferedImage createTarget(int w, int h) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h);
+        }
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+    }
+}
@@ -0,0 +1,239 @@
+package fluffyjump;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays a {@link GameSimulation} by lookahead. Every {@code decisionTicks} ticks it clones the live run into
+ * scratch simulations (one per worker thread, via {@link GameSimulation#copyFrom}; the bot holds them, so
+ * they go away with it even on a shared pool) and plays
+ * {@code rolloutsPerAction} rollouts of {@code horizonTicks} ticks for each candidate action: the action is
+ * held for the first decision, then a random policy takes over. The action with the best mean outcome wins.
+ *
+ * <p>Rollouts run on a {@link ForkJoinPool}. Each writes its result into its own slot and uses its own
+ * random stream, derived from the run's seed, the tick and the rollout index, so a decision does not depend
+ * on how many threads ran it or in which order. Because the clone shares the run's {@link SpawnSchedule}, the
+ * bot sees the real upcoming spawns. A death is therefore a genuinely unfair stretch, not bad luck.
+ *
+ * <p>Headless soak test: {@code java -cp fluffyjump.jar fluffyjump.LookaheadBot [sessions] [maxTicks]}.
+ */
+public final class LookaheadBot {
+    public static final int NONE = 0;
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int JUMP = 1 << 2;
+    private static final int[] ACTIONS = { NONE, LEFT, RIGHT, JUMP, LEFT | JUMP, RIGHT | JUMP };
+
+    // น้ำหนักของผลลัพธ์ rollout: ตาย/หัวใจหายแย่กว่าเหรียญที่ได้มาก
+    private static final double SCORE_WEIGHT = 10;
+    private static final double HP_WEIGHT = 300;
+    private static final double DEATH_PENALTY = 2000;
+    private static final double WIN_BONUS = 1000;
+    private static final int SPLIT_THRESHOLD = 2; // rollout ต่อ task ก่อนจะแตก task ย่อย
+
+    private final RunnerGame.Level level;
+    private final ForkJoinPool pool;
+    private final int rolloutsPerAction;
+    private final int horizonTicks;
+    private final int decisionTicks;
+    // scratch simulation ต่อ thread: ช่อง 0 = thread ที่เรียก decide, ช่อง 1 + pool index = worker ของ pool
+    private GameSimulation[] scratch = new GameSimulation[0];
+
+    // ผลของ rollout ล่าสุด (แต่ละ rollout เขียนช่องของตัวเอง)
+    private final double[] values;
+    private final int[] ticksPlayed;
+
+    // แผนที่กำลังเล่นอยู่ (thread ที่เรียก drive เท่านั้น)
+    private int action = NONE;
+    private int ticksLeft = 0;
+
+    // สถิติ
+    private long decisions = 0;
+    private long rollouts = 0;
+    private long rolloutTicks = 0;
+    private long decideNanos = 0;
+
+    public LookaheadBot(RunnerGame.Level level, ForkJoinPool pool, int rolloutsPerAction, int horizonTicks,
+                        int decisionTicks) {
+        this.level = level;
+        this.pool = pool;
+        this.rolloutsPerAction = Math.max(1, rolloutsPerAction);
+        this.horizonTicks = Math.max(decisionTicks, horizonTicks);
+        this.decisionTicks = Math.max(1, decisionTicks);
+        this.values = new double[ACTIONS.length * this.rolloutsPerAction];
+        this.ticksPlayed = new int[values.length];
+    }
+
+    /** งบเล็กพอจะคิดบน game thread ได้ระหว่างเล่นเดโม (~2k tick ต่อการตัดสินใจ) */
+    public static LookaheadBot forAttractMode(RunnerGame.Level level) {
+        return new LookaheadBot(level, ForkJoinPool.commonPool(), 4, 90, 8);
+    }
+
+    /**
+     * Sets the input of {@code sim} for its next tick; call once right before every {@code step()}.
+     * Decides (and runs the rollouts) every {@code decisionTicks} ticks, holding the chosen action in between.
+     */
+    public void drive(GameSimulation sim) {
+        boolean fresh = ticksLeft <= 0;
+        if (fresh) {
+            action = decide(sim);
+            ticksLeft = decisionTicks;
+        }
+        ticksLeft--;
+        apply(sim, action, fresh);
+    }
+
+    /** ลืมแผนเดิม (เรียกหลัง reset หรือเมื่อเปลี่ยนไปขับ simulation ตัวอื่น) */
+    public void resetPlan() {
+        action = NONE;
+        ticksLeft = 0;
+    }
+
+    /** Runs every rollout from the current state of {@code root} and returns the best action. */
+    public int decide(GameSimulation root) {
+        if (root.getLevel() != level) throw new IllegalArgumentException("bot is for " + level);
+        long start = System.nanoTime();
+        long base = mix(root.getSeed() ^ mix(root.getTick()));
+        pool.invoke(new Rollouts(root, base, 0, values.length));
+
+        // รวมผลตามลำดับ index เสมอ ไม่ขึ้นกับว่า thread ไหนเสร็จก่อน; เสมอกันเลือก action ที่มาก่อน
+        int best = NONE;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int a = 0; a < ACTIONS.length; a++) {
+            double sum = 0;
+            for (int r = 0; r < rolloutsPerAction; r++) sum += values[a * rolloutsPerAction + r];
+            if (sum > bestValue) {
+                bestValue = sum;
+                best = ACTIONS[a];
+            }
+        }
+        for (int i = 0; i < ticksPlayed.length; i++) rolloutTicks += ticksPlayed[i];
+        rollouts += values.length;
+        decisions++;
+        decideNanos += System.nanoTime() - start;
+        return best;
+    }
+
+    private final class Rollouts extends RecursiveAction {
+        private final GameSimulation root;
+        private final long base;
+        private final int from, to;
+
+        Rollouts(GameSimulation root, long base, int from, int to) {
+            this.root = root;
+            this.base = base;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                GameSimulation sim = scratchForCurrentThread();
+                for (int i = from; i < to; i++) rollout(sim, root, base, i);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Rollouts(root, base, from, mid), new Rollouts(root, base, mid, to));
+        }
+    }
+
+    /** scratch ของ thread นี้ (สร้างครั้งแรกที่ใช้); แต่ละ thread ใช้แค่ช่องของตัวเองระหว่าง decide */
+    private synchronized GameSimulation scratchForCurrentThread() {
+        Thread t = Thread.currentThread();
+        int slot = t instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) t).getPool() == pool
+                ? 1 + ((ForkJoinWorkerThread) t).getPoolIndex() : 0;
+        if (slot >= scratch.length) scratch = Arrays.copyOf(scratch, Math.max(slot + 1, scratch.length * 2));
+        GameSimulation sim = scratch[slot];
+        if (sim == null) sim = scratch[slot] = GameSimulation.copyTarget(level);
+        return sim;
+    }
+
+    private void rollout(GameSimulation sim, GameSimulation root, long base, int i) {
+        sim.copyFrom(root);
+        SplittableRandom rnd = new SplittableRandom(base + i * 0x9E3779B97F4A7C15L);
+        int startScore = sim.getScore(), startHp = sim.getHp();
+        int a = ACTIONS[i / rolloutsPerAction];
+        int t = 0;
+        while (t < horizonTicks && !sim.isFinished()) {
+            if (t > 0 && t % decisionTicks == 0) a = ACTIONS[rnd.nextInt(ACTIONS.length)];
+            apply(sim, a, t % decisionTicks == 0);
+            sim.step();
+            t++;
+        }
+        double v = SCORE_WEIGHT * (sim.getScore() - startScore) - HP_WEIGHT * (startHp - sim.getHp());
+        if (sim.isGameOver()) v -= DEATH_PENALTY * (horizonTicks - t + 1) / horizonTicks; // ตายช้าดีกว่าตายเร็ว
+        if (sim.isWon()) v += WIN_BONUS;
+        values[i] = v;
+        ticksPlayed[i] = t;
+    }
+
+    /** ตั้ง input ของ tick ถัดไป: ทิศถูกกดค้างไว้ตลอดแผน ส่วน jump กดแค่ tick แรกของแผน */
+    static void apply(GameSimulation sim, int action, boolean firstTick) {
+        sim.setLeftPressed((action & LEFT) != 0);
+        sim.setRightPressed((action & RIGHT) != 0);
+        if (firstTick && (action & JUMP) != 0) sim.jump();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public RunnerGame.Level getLevel() { return level; }
+    public int getDecisionTicks() { return decisionTicks; }
+    public long getDecisions() { return decisions; }
+    public long getRollouts() { return rollouts; }
+    public long getRolloutTicks() { return rolloutTicks; }
+    public long getDecideNanos() { return decideNanos; }
+    public double getRolloutsPerSecond() { return decideNanos > 0 ? rollouts * 1e9 / decideNanos : 0; }
+    public double getRolloutTicksPerSecond() { return decideNanos > 0 ? rolloutTicks * 1e9 / decideNanos : 0; }
+
+    /**
+     * Soak test: plays {@code sessions} runs per level with seeds 1..n, up to {@code maxTicks} ticks each,
+     * and prints how each run ended, the game speed at each death, and rollout throughput.
+     */
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : 10 * 60 * GameSimulation.TICK_HZ;
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        // ฝน meteor ไม่ใช่ด่านที่บอทต้องผ่าน (clone ทีละหมื่นลูกต่อ rollout): soak เฉพาะสองด่านปกติ
+        for (RunnerGame.Level level : new RunnerGame.Level[] { RunnerGame.Level.EARTH, RunnerGame.Level.PLANET }) {
+            LookaheadBot bot = new LookaheadBot(level, pool, 16, 180, 8);
+            GameSimulation sim = new GameSimulation(level, 1);
+            int won = 0, died = 0, scoreSum = 0;
+            int[] deathsAtSpeed = new int[64];
+            long start = System.nanoTime();
+            for (int s = 1; s <= sessions; s++) {
+                sim.reset(s);
+                bot.resetPlan();
+                while (!sim.isFinished() && sim.getTick() < maxTicks) {
+                    bot.drive(sim);
+                    sim.step();
+                }
+                scoreSum += sim.getScore();
+                if (sim.isWon()) won++;
+                if (sim.isGameOver()) {
+                    died++;
+                    deathsAtSpeed[Math.min(deathsAtSpeed.length - 1, sim.getGameSpeed())]++;
+                }
+                System.out.printf("%s seed=%d tick=%d score=%d hp=%d speed=%d %s%n", level, s, sim.getTick(),
+                        sim.getScore(), sim.getHp(), sim.getGameSpeed(),
+                        sim.isWon() ? "WON" : sim.isGameOver() ? "DIED" : "TIMEOUT");
+            }
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: %d sessions in %.1fs, won %d, died %d, avg score %.1f%n",
+                    level, sessions, secs, won, died, scoreSum / (double) sessions);
+            for (int sp = 0; sp < deathsAtSpeed.length; sp++) {
+                if (deathsAtSpeed[sp] > 0) System.out.printf("  deaths at speed %d: %d%n", sp, deathsAtSpeed[sp]);
+            }
+            System.out.printf("  %.0f rollouts/s, %.0f rollout ticks/s on %d threads%n",
+                    bot.getRolloutsPerSecond(), bot.getRolloutTicksPerSecond(), pool.getParallelism());
+        }
+        pool.shutdown();
+    }
+}
@@ -1,3 +1,5 @@
+package fluffyjump;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -5,6 +7,7 @@ import java.awt.event.*;
 public class MainMenu extends JPanel implements ActionListener {
     private JButton earthButton;
     private JButton planetButton;
+    private JButton showerButton;
     private JButton guideButton;
     private JButton creditButton;
     private JFrame parentFrame;
@@ -16,6 +19,16 @@ public class MainMenu extends JPanel implements ActionListener {
     private final Color purple     = new Color(138, 43, 226);
     private final Color white      = Color.WHITE;
 
+    // ความคืบหน้าการโหลด sprite ตอนเปิดเกม (อัปเดตบน EDT)
+    private int assetsLoaded = 0;
+    private int assetsTotal = AssetManager.all().size();
+
+    // ไม่มีใครแตะเมนูนานเท่านี้ → เปิดเดโมให้บอทเล่นเอง (attract mode) สลับด่านกันไป
+    private static final int ATTRACT_IDLE_MILLIS = 30_000;
+    private static int attractCount = 0; // EDT only
+    private final Timer attractTimer = new Timer(ATTRACT_IDLE_MILLIS, e -> startAttract());
+    private final AWTEventListener activity = e -> attractTimer.restart();
+
     public MainMenu(JFrame frame) {
         this.parentFrame = frame;
         setPreferredSize(new Dimension(800, 600));
@@ -34,23 +47,79 @@ public class MainMenu extends JPanel implements ActionListener {
             }
         });
         layoutButtons();
+        armAttractMode();
+
+        // decode sprite ทั้งหมดแบบขนานระหว่างที่ผู้เล่นยังอยู่หน้าเมนู
+        AssetManager.shared().preloadAll((done, total, path) -> SwingUtilities.invokeLater(() -> {
+            assetsLoaded = Math.max(assetsLoaded, done);
+            assetsTotal = total;
+            repaint();
+        }));
     }
 
     private void initializeComponents() {
         earthButton  = createStyledButton("Earth");
         planetButton = createStyledButton("Planet");
+        showerButton = createStyledButton("Meteor Shower");
         guideButton  = createStyledButton("Guide");
         creditButton = createStyledButton("Credit");
 
         earthButton.addActionListener(this);
         planetButton.addActionListener(this);
+        showerButton.addActionListener(this);
         guideButton.addActionListener(this);
         creditButton.addActionListener(this);
 
         add(earthButton);
         add(planetButton);
+        add(showerButton);
         add(guideButton);
         add(creditButton);
+
+        // ชี้เมาส์หรือ focus ที่ปุ่มด่านไหน ก็เริ่ม warm-up ด่านนั้นไว้ก่อนเลย
+        warmUpOnHoverOrFocus(earthButton, RunnerGame.Level.EARTH);
+        warmUpOnHoverOrFocus(planetButton, RunnerGame.Level.PLANET);
+        warmUpOnHoverOrFocus(showerButton, RunnerGame.Level.METEOR_SHOWER);
+    }
+
+    /** นับเวลา idle เฉพาะตอนเมนูแสดงอยู่; เมาส์หรือคีย์บอร์ดขยับเมื่อไรก็นับใหม่ */
+    private void armAttractMode() {
+        attractTimer.setRepeats(false);
+        long mask = AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK | AWTEvent.KEY_EVENT_MASK;
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+            if (isShowing()) {
+                Toolkit.getDefaultToolkit().addAWTEventListener(activity, mask);
+                attractTimer.restart();
+            } else {
+                Toolkit.getDefaultToolkit().removeAWTEventListener(activity);
+                attractTimer.stop();
+            }
+        });
+    }
+
+    private void startAttract() {
+        // มี dialog (Guide/Credit) เปิดค้างอยู่ หรือเมนูไม่ได้แสดงแล้ว: ไม่เปิดเดโม
+        if (!isShowing() || parentFrame.getContentPane() != this || !parentFrame.isActive()) {
+            attractTimer.restart();
+            return;
+        }
+        RunnerGame.Level level = attractCount++ % 2 == 0 ? RunnerGame.Level.EARTH : RunnerGame.Level.PLANET;
+        RunnerGame demo = RunnerGame.attract(level);
+        parentFrame.setContentPane(demo);
+        parentFrame.revalidate();
+        parentFrame.repaint();
+        SwingUtilities.invokeLater(demo::requestFocusInWindow);
+    }
+
+    private void warmUpOnHoverOrFocus(JButton button, RunnerGame.Level level) {
+        Runnable warm = () -> LevelWarmup.shared().warm(level, RunnerGame.LOGICAL_WIDTH, RunnerGame.LOGICAL_HEIGHT);
+        button.addMouseListener(new MouseAdapter() {
+            @Override public void mouseEntered(MouseEvent e) { warm.run(); }
+        });
+        button.addFocusListener(new FocusAdapter() {
+            @Override public void focusGained(FocusEvent e) { warm.run(); }
+        });
     }
 
     private JButton createStyledButton(String text) {
@@ -75,18 +144,21 @@ public class MainMenu extends JPanel implements ActionListener {
         int btnW = Math.max(180, Math.min(360, (int)(w * 0.35)));
         int btnH = Math.max(48,  (int)(h * 0.09));
         int gap  = Math.max(12,  (int)(h * 0.02));
-        int startY = Math.max((int)(h * 0.40), 160);
+        // 5 ปุ่มต้องพอดีจอแม้หน้าต่างเล็กสุด (640x480)
+        int startY = Math.min(Math.max((int)(h * 0.40), 160), h - 5 * (btnH + gap));
 
         int x = (w - btnW) / 2;
         earthButton.setBounds(x, startY, btnW, btnH);
         planetButton.setBounds(x, startY + (btnH + gap), btnW, btnH);
-        guideButton.setBounds(x, startY + 2 * (btnH + gap), btnW, btnH);
-        creditButton.setBounds(x, startY + 3 * (btnH + gap), btnW, btnH);
+        showerButton.setBounds(x, startY + 2 * (btnH + gap), btnW, btnH);
+        guideButton.setBounds(x, startY + 3 * (btnH + gap), btnW, btnH);
+        creditButton.setBounds(x, startY + 4 * (btnH + gap), btnW, btnH);
 
         int fontSize = Math.max(16, Math.min(28, (int)(btnH * 0.45)));
         Font f = new Font("Arial", Font.BOLD, fontSize);
         earthButton.setFont(f);
         planetButton.setFont(f);
+        showerButton.setFont(f);
         guideButton.setFont(f);
         creditButton.setFont(f);
     }
@@ -113,6 +185,20 @@ public class MainMenu extends JPanel implements ActionListener {
         drawClouds(g2d, w, horizon);
         drawHills(g2d, w, horizon);
         drawTitle(g2d, w);
+        if (assetsLoaded < assetsTotal) drawLoadingBar(g2d, w, h);
+    }
+
+    private void drawLoadingBar(Graphics2D g2d, int w, int h) {
+        int barW = Math.max(160, (int)(w * 0.3));
+        int barH = 8;
+        int x = (w - barW) / 2, y = h - 32;
+        g2d.setColor(new Color(0, 0, 0, 90));
+        g2d.fillRoundRect(x, y, barW, barH, barH, barH);
+        g2d.setColor(purple);
+        g2d.fillRoundRect(x, y, barW * assetsLoaded / Math.max(1, assetsTotal), barH, barH, barH);
+        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
+        g2d.setColor(Color.DARK_GRAY);
+        g2d.drawString("Loading " + assetsLoaded + "/" + assetsTotal, x, y - 4);
     }
 
     private void drawClouds(Graphics2D g2d, int w, int skyH) {
@@ -165,10 +251,13 @@ public class MainMenu extends JPanel implements ActionListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         Object src = e.getSource();
+        long clicked = System.nanoTime();
         if (src == earthButton) {
-            startEarth();
+            startLevel(RunnerGame.Level.EARTH, clicked);
         } else if (src == planetButton) {
-            startPlanet();
+            startLevel(RunnerGame.Level.PLANET, clicked);
+        } else if (src == showerButton) {
+            startLevel(RunnerGame.Level.METEOR_SHOWER, clicked);
         } else if (src == guideButton) {
             showGuide();
         } else if (src == creditButton) {
@@ -176,20 +265,9 @@ public class MainMenu extends JPanel implements ActionListener {
         }
     }
 
-    private void startPlanet() {
-        RunnerGame game = new RunnerGame(RunnerGame.Level.PLANET);
-        parentFrame.setContentPane(game);
-        parentFrame.setResizable(true);
-        parentFrame.setMinimumSize(new Dimension(640, 480));
-        // ❌ ไม่ pack() เพื่อไม่ล็อกขนาด
-        parentFrame.revalidate();
-        parentFrame.repaint();
-        parentFrame.setLocationRelativeTo(null);
-        SwingUtilities.invokeLater(game::requestFocusInWindow);
-    }
-
-    private void startEarth() {
-        RunnerGame game = new RunnerGame(RunnerGame.Level.EARTH);
+    private void startLevel(RunnerGame.Level level, long clickedNanos) {
+        RunnerGame game = new RunnerGame(level);
+        game.setLaunchNanos(clickedNanos);
         parentFrame.setContentPane(game);
         parentFrame.setResizable(true);
         parentFrame.setMinimumSize(new Dimension(640, 480));
@@ -211,7 +289,10 @@ public class MainMenu extends JPanel implements ActionListener {
                 "Planet:\n" +
                 "• Meteor -50 score on hit)\n" +
                 "• UFO on ground lose a heart on hit\n" +
-                "• Coins are on ground";
+                "• Coins are on ground\n\n" +
+                "Meteor Shower:\n" +
+                "• Planet with up to 10,000 meteors at once\n" +
+                "• Stress mode: dodge the UFOs, meteors still cost score";
         JOptionPane.showMessageDialog(this, guide, "Game Guide", JOptionPane.INFORMATION_MESSAGE);
     }
 
@@ -0,0 +1,47 @@
+package fluffyjump;
+
+import java.util.Random;
+
+/**
+ * Meteor archetype. Live meteors are rows in an {@link EntityStore} (type {@link EntityStore#TYPE_METEOR}),
+ * this class only knows how to spawn one into the store ({@link EntityRenderer} draws them).
+ */
+public final class Meteor {
+    private static final double SPIN_PER_TICK = 3;
+    public static final int MIN_SIZE = 28;
+    public static final int MAX_SIZE = 56;
+    private static final double DRIFT_PER_SPEED = 0.3;
+    private static final double MEAN_FALL_SPEED = 4.0;
+
+    private Meteor() {}
+
+    /** สุ่มขนาด/ความเร็ว/มุมเริ่มต้น แล้วเพิ่มลง store; คืน index */
+    public static int spawn(EntityStore store, int startX, int startY, int gameSpeed, Random random) {
+        return spawn(store, startX, startY, gameSpeed, random, MIN_SIZE, MAX_SIZE);
+    }
+
+    /** เหมือน {@link #spawn(EntityStore, int, int, int, Random)} แต่สุ่มขนาดในช่วง [minSize, maxSize] */
+    public static int spawn(EntityStore store, int startX, int startY, int gameSpeed, Random random,
+                            int minSize, int maxSize) {
+        int size = minSize + random.nextInt(maxSize - minSize + 1);
+
+        // ความเร็ว: ให้ตกตรง ๆ ลงมา + เคลื่อนซ้ายเล็กน้อย
+        double vx = -(gameSpeed * DRIFT_PER_SPEED);  // เลื่อนซ้ายช้า ๆ
+        double vy =  3.0 + random.nextDouble() * 2.0; // ตกลงด้านล่างเร็วขึ้น
+
+        double angleDeg = random.nextDouble() * 360;
+        return store.add(EntityStore.TYPE_METEOR, startX, startY, vx, vy, size, angleDeg, SPIN_PER_TICK);
+    }
+
+    /**
+     * How far left a meteor drifts while it falls to the ground at this speed. Spawning up to this far
+     * past the right edge keeps the right side of the screen from running empty.
+     */
+    public static int spawnLead(int gameSpeed) {
+        return (int) (gameSpeed * DRIFT_PER_SPEED * (GameSimulation.GROUND_Y + 60) / MEAN_FALL_SPEED);
+    }
+
+    public static boolean isOffscreen(EntityStore s, int i, int w, int h, int buffer) {
+        return s.x[i] + s.size[i] < -buffer || s.y[i] - s.size[i] > h + buffer;
+    }
+}
@@ -0,0 +1,62 @@
+package fluffyjump;
+
+import java.util.Random;
+
+public class Obstacle implements Entity {
+    // ขนาด (px) ของ cactus.png; ใช้แค่สัดส่วน กว้าง/สูง
+    private static final int ART_W = 591, ART_H = 1253;
+
+    private double x, y;
+    private double prevX;
+    private int width, height;
+    private int groundY;
+
+    /** ใช้กับ EntityPool: สร้างเปล่าไว้ แล้วเรียก reset ก่อนใช้ */
+    Obstacle() {}
+
+    public Obstacle(double startX, int groundY, Random random) {
+        reset(startX, groundY, random);
+    }
+
+    public Obstacle reset(double startX, int groundY, Random random) {
+        this.groundY = groundY;
+        // ขนาดคงที่ตามสัดส่วนของ cactus.png (ไม่อ่านจากภาพ: hitbox ต้องเหมือนเดิมแม้ sprite ยังไม่ถูก decode)
+        int targetH = 50 + random.nextInt(41);
+        this.width  = (int)Math.max(20, Math.round((targetH / (double)ART_H) * ART_W));
+        this.height = targetH;
+
+        this.x = startX;
+        this.prevX = startX;
+        this.y = groundY - this.height;
+        return this;
+    }
+
+    public Obstacle copyFrom(Obstacle o) {
+        x = o.x; y = o.y; prevX = o.prevX;
+        width = o.width; height = o.height; groundY = o.groundY;
+        return this;
+    }
+
+    // ==== Entity.update ====
+    @Override
+    public void update(double gameSpeed) { prevX = x; x -= gameSpeed; }
+
+    public void snapshot(RenderSnapshot.Layer out) {
+        out.add(prevX, x, y, y, 0, 0, width, height, 0);
+    }
+
+    // ==== Entity.isOffscreen ====
+    @Override
+    public boolean isOffscreen(int panelW, int panelH) { return isOffscreenLeft(80); }
+
+    public boolean isOffscreenLeft(int bufferPx) { return x + width < -bufferPx; }
+
+    public int getX() { return (int)Math.round(x); }
+    public int getY() { return (int)Math.round(y); }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getGroundY() { return groundY; }
+
+    // resize helper
+    public void shiftY(double dy) { this.y += dy; }
+}
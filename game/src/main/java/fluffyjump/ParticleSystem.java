@@ -0,0 +1,131 @@
+package fluffyjump;
+
+import java.util.Arrays;
+
+/**
+ * Short-lived visual particles: coin sparkles, the hit flash when a heart is lost, dust behind rolling
+ * rocks and debris where meteors hit the ground. Purely cosmetic: a {@link GameSimulation} only emits them
+ * when one is attached ({@link GameSimulation#setParticles}), and they never feed back into the game, so
+ * headless runs, replays and lookahead clones go without.
+ *
+ * <p>Storage is a fixed-capacity ring of parallel primitive arrays. Emitting writes the next slot and, once
+ * the ring is full, overwrites the oldest particle; nothing is allocated after construction. The renderer
+ * gets the live particles through a {@link RenderSnapshot.Layer} and draws them with {@link ParticleRenderer}.
+ */
+public final class ParticleSystem {
+    public static final int SPARKLE = 0;
+    public static final int BONUS_SPARKLE = 1;
+    public static final int HIT = 2;
+    public static final int DUST = 3;
+    public static final int DEBRIS = 4;
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    // ค่าต่อชนิด (index = kind): อายุ (tick), แรงโน้มถ่วงต่อ tick, ขนาด (px, min + สุ่มเพิ่ม)
+    private static final int[] LIFE = { 24, 36, 30, 40, 28 };
+    private static final double[] GRAVITY = { 0.04, 0.04, 0.10, -0.02, 0.30 };
+    private static final int[] SIZE_MIN = { 2, 3, 3, 3, 2 };
+    private static final int[] SIZE_RANGE = { 2, 3, 3, 4, 3 };
+    // ของบนพื้น (ฝุ่น, เศษหิน): ไหลไปกับฉากตามความเร็วเกม และเด้งที่พื้นแทนที่จะตกทะลุ
+    private static final boolean[] GROUNDED = { false, false, false, true, true };
+
+    private final double[] x, y, prevX, prevY, vx, vy;
+    private final int[] life, kind, size;
+    private int head = 0;  // slot ที่จะเขียนครั้งถัดไป
+    private int used = 0;  // จำนวน slot ที่เคยถูกเขียน (วนครบรอบแล้ว = capacity)
+    private int live = 0;
+    private final SimRandom random = new SimRandom(0);
+
+    public ParticleSystem(int capacity) {
+        int cap = Math.max(16, capacity);
+        x = new double[cap]; y = new double[cap];
+        prevX = new double[cap]; prevY = new double[cap];
+        vx = new double[cap]; vy = new double[cap];
+        life = new int[cap]; kind = new int[cap]; size = new int[cap];
+    }
+
+    /** อายุเต็มของ particle ชนิด kind (tick) */
+    static int lifeTicks(int kind) { return LIFE[kind]; }
+
+    public int capacity() { return x.length; }
+    public int size() { return live; }
+
+    /** ล้างทุกตัว และตั้ง seed ของการสุ่มทิศ (เริ่มรอบใหม่ด้วย seed เดิม = particle ชุดเดิม) */
+    public void reset(long seed) {
+        Arrays.fill(life, 0, used, 0);
+        head = used = live = 0;
+        random.setSeed(seed);
+    }
+
+    /** เพิ่ม particle หนึ่งตัว (เขียนทับตัวที่เก่าที่สุดถ้า ring เต็ม) */
+    public void emit(int k, double px, double py, double pvx, double pvy) {
+        int i = head;
+        if (life[i] <= 0) live++;
+        head = i + 1 == x.length ? 0 : i + 1;
+        if (used < x.length) used++;
+        x[i] = prevX[i] = px;
+        y[i] = prevY[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        kind[i] = k;
+        life[i] = LIFE[k];
+        size[i] = SIZE_MIN[k] + random.nextInt(SIZE_RANGE[k]);
+    }
+
+    /** n ตัวพุ่งออกจาก (cx, cy) ทิศสุ่ม ความเร็วไม่เกิน speed; ของบนพื้นพุ่งขึ้นเท่านั้น */
+    public void burst(int k, double cx, double cy, int n, double speed) {
+        for (int j = 0; j < n; j++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double v = speed * (0.3 + 0.7 * random.nextDouble());
+            double dy = Math.sin(angle) * v;
+            emit(k, cx, cy, Math.cos(angle) * v, GROUNDED[k] ? -Math.abs(dy) : dy);
+        }
+    }
+
+    /** ฝุ่นหนึ่งก้อนจากหลังหินที่กำลังกลิ้ง */
+    public void dust(RollingRock r, int groundY) {
+        emit(DUST, r.getCenterX() + r.getRadius() * (0.2 + 0.6 * random.nextDouble()), groundY - 2,
+             0.5 + random.nextDouble(), -0.4 - random.nextDouble());
+    }
+
+    /** เศษหินตอน meteor ขนาด s ตกถึงพื้นที่ (cx, groundY): ลูกใหญ่กระจายเยอะและแรงกว่า */
+    public void impact(double cx, int groundY, int s) {
+        burst(DEBRIS, cx, groundY - 1, 2 + s / 8, 1.5 + s / 16.0);
+    }
+
+    /** One tick: age, move and drop every live particle; grounded kinds scroll with the world at {@code speed}. */
+    public void update(int speed, int groundY) {
+        int alive = 0;
+        for (int i = 0, n = used; i < n; i++) {
+            if (life[i] <= 0) continue;
+            if (--life[i] == 0) continue;
+            int k = kind[i];
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            vy[i] += GRAVITY[k];
+            x[i] += vx[i];
+            y[i] += vy[i];
+            if (GROUNDED[k]) {
+                x[i] -= speed;
+                if (y[i] > groundY - size[i] && vy[i] > 0) {
+                    // เด้งเบา ๆ ที่พื้น
+                    y[i] = groundY - size[i];
+                    vy[i] *= -0.35;
+                    vx[i] *= 0.6;
+                }
+            }
+            alive++;
+        }
+        live = alive;
+    }
+
+    /** คัดลอกเฉพาะตัวที่ยังอยู่ลง layer ของ snapshot; {@code a} = อายุที่เหลือ (0..1), flags = ชนิด */
+    void copyTo(RenderSnapshot.Layer out) {
+        out.clear();
+        for (int i = 0, n = used; i < n; i++) {
+            if (life[i] <= 0) continue;
+            double f = life[i] / (double) LIFE[kind[i]];
+            out.add(prevX[i], x[i], prevY[i], y[i], f, f, size[i], size[i], kind[i]);
+        }
+    }
+}
@@ -1,10 +1,8 @@
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
+package fluffyjump;
 
 public class Player {
     private int x, y;
+    private int prevX, prevY;
     private int width = 50, height = 50;
     private int groundY;
 
@@ -24,9 +22,9 @@ public class Player {
 
     private int minX = 0, maxX = 800 - width;
 
-    private Image[] runFrames;
-    private Image[] jumpFrames;
-    private Image   fallFrame;
+    // เลข frame ของ sprite (EntityRenderer แปลงเป็นภาพ): run 0-5, jump 6-7, fall 8
+    static final int RUN_FRAMES = 6, JUMP_FRAMES = 2;
+    static final int FIRST_JUMP_FRAME = RUN_FRAMES, FALL_FRAME = RUN_FRAMES + JUMP_FRAMES;
     private int frameIndex = 0;
     private int frameTick = 0;
     private int runFrameInterval = 6;
@@ -37,41 +35,11 @@ public class Player {
         this.x = startX;
         this.groundY = groundY;
         this.y = groundY - height;
-        loadSprites();
-    }
-
-    private void loadSprites() {
-        try {
-            runFrames = new Image[] {
-                readImg("/sprites/player/run 1.png"),
-                readImg("/sprites/player/run 2.png"),
-                readImg("/sprites/player/run 3.png"),
-                readImg("/sprites/player/run 4.png"),
-                readImg("/sprites/player/run 5.png"),
-                readImg("/sprites/player/run 6.png")
-            };
-            jumpFrames = new Image[] {
-                readImg("/sprites/player/jump 1.png"),
-                readImg("/sprites/player/jump 2.png")
-            };
-            fallFrame = readImg("/sprites/player/fall .png"); // ชื่อไฟล์มีช่องว่างตามต้นฉบับ
-        } catch (RuntimeException ex) {
-            runFrames = null; jumpFrames = null; fallFrame = null;
-        }
-    }
-
-    private Image readImg(String path) {
-        try {
-            var url = getClass().getResource(path);
-            if (url == null) throw new IOException("Resource not found: " + path);
-            BufferedImage img = ImageIO.read(url);
-            return img;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load: " + path, e);
-        }
+        this.prevX = x; this.prevY = y;
     }
 
     public void update(boolean leftPressed, boolean rightPressed) {
+        prevX = x; prevY = y;
         if (leftPressed)  x -= 6;
         if (rightPressed) x += 6;
         if (x < minX) x = minX;
@@ -97,14 +65,12 @@ public class Player {
             frameTick++;
             if (frameTick >= runFrameInterval) {
                 frameTick = 0;
-                if (runFrames != null && runFrames.length > 0) {
-                    frameIndex = (frameIndex + 1) % runFrames.length;
-                }
+                frameIndex = (frameIndex + 1) % RUN_FRAMES;
             }
         } else {
-            if (velocityY < 0 && jumpFrames != null) {
+            if (velocityY < 0) {
                 jumpAnimTick++;
-                int phase = Math.min(jumpFrames.length - 1, jumpAnimTick / jumpFrameHold);
+                int phase = Math.min(JUMP_FRAMES - 1, jumpAnimTick / jumpFrameHold);
                 frameIndex = phase;
             } else {
                 frameIndex = 0;
@@ -121,33 +87,24 @@ public class Player {
         }
     }
 
-    public void draw(Graphics g) {
-        if (invincibleTicks > 0 && (invincibleTicks / 5) % 2 == 0) {
-            g.setColor(new Color(255, 255, 0, 90));
-            g.fillRect(x - 4, y - 4, width + 8, height + 8);
-        }
+    public void snapshot(RenderSnapshot s) {
+        s.playerPrevX = prevX; s.playerPrevY = prevY;
+        s.playerX = x;         s.playerY = y;
+        s.playerW = width;     s.playerH = height;
+        s.playerFrame = currentFrame();
+        s.playerFlash = isFlashing();
+    }
 
-        Image spriteToDraw = null;
-        if (!onGround) {
-            if (velocityY < 0 && jumpFrames != null) {
-                int idx = Math.min(jumpFrames.length - 1, frameIndex);
-                spriteToDraw = jumpFrames[idx];
-            } else if (fallFrame != null) {
-                spriteToDraw = fallFrame;
-            }
-        } else if (runFrames != null) {
-            spriteToDraw = runFrames[Math.max(0, Math.min(frameIndex, runFrames.length - 1))];
-        }
+    private boolean isFlashing() { return invincibleTicks > 0 && (invincibleTicks / 5) % 2 == 0; }
 
-        if (spriteToDraw != null) {
-            g.drawImage(spriteToDraw, x, y, width, height, null);
-        } else {
-            g.setColor(Color.BLACK);
-            g.fillRect(x, y, width, height);
+    /** เลข frame ของ sprite ที่ต้องวาดตามสถานะตอนนี้ */
+    private int currentFrame() {
+        if (!onGround) {
+            return velocityY < 0 ? FIRST_JUMP_FRAME + Math.min(JUMP_FRAMES - 1, frameIndex) : FALL_FRAME;
         }
+        return Math.max(0, Math.min(frameIndex, RUN_FRAMES - 1));
     }
 
-    public Rectangle getBounds() { return new Rectangle(x, y, width, height); }
     public double getCenterX() { return x + width / 2.0; }
     public double getCenterY() { return y + height / 2.0; }
     public double getRadius()  { return Math.min(width, height) / 2.2; }
@@ -165,6 +122,7 @@ public class Player {
         this.x = startX;
         this.groundY = groundY;
         this.y = groundY - height;
+        this.prevX = x; this.prevY = y;
         this.velocityY = 0;
         this.currentHP = maxHP;
         this.invincibleTicks = 0;
@@ -175,6 +133,19 @@ public class Player {
         this.jumpsUsed = 0;
     }
 
+    /** คัดลอกสถานะทั้งหมดจาก other (ใช้ตอน clone simulation) */
+    public Player copyFrom(Player o) {
+        x = o.x; y = o.y; prevX = o.prevX; prevY = o.prevY;
+        width = o.width; height = o.height; groundY = o.groundY;
+        velocityY = o.velocityY; gravity = o.gravity; jumpStrength = o.jumpStrength; maxFallSpeed = o.maxFallSpeed;
+        onGround = o.onGround; jumpsUsed = o.jumpsUsed; maxJumps = o.maxJumps;
+        maxHP = o.maxHP; currentHP = o.currentHP; invincibleTicks = o.invincibleTicks;
+        minX = o.minX; maxX = o.maxX;
+        frameIndex = o.frameIndex; frameTick = o.frameTick; runFrameInterval = o.runFrameInterval;
+        jumpFrameHold = o.jumpFrameHold; jumpAnimTick = o.jumpAnimTick;
+        return this;
+    }
+
     public void setPlayArea(int minX, int maxX) {
         this.minX = minX;
         this.maxX = Math.max(minX, maxX - width);
@@ -188,5 +159,6 @@ public class Player {
         int dy = newGroundY - this.groundY;
         this.groundY = newGroundY;
         this.y += dy;
+        this.prevY += dy;
     }
 }
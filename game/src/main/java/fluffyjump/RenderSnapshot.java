@@ -0,0 +1,117 @@
+package fluffyjump;
+
+import java.util.Arrays;
+
+/**
+ * Everything the renderer needs for one frame, copied out of {@link GameSimulation} at the end of a tick:
+ * previous and current pose of every entity (so the frame can still be interpolated), plus player and HUD
+ * state. The renderer only ever reads a snapshot, never the live entity lists, so it can run on another
+ * thread while the simulation is already stepping the next tick. Snapshots are reused through
+ * {@link SnapshotExchange}; the arrays only grow.
+ */
+public class RenderSnapshot {
+
+    /** One entity kind as parallel primitive arrays; {@code a} is the kind's angle/phase (rotation, wobble). */
+    public static final class Layer {
+        double[] prevX = new double[8], x = new double[8];
+        double[] prevY = new double[8], y = new double[8];
+        double[] prevA = new double[8], a = new double[8];
+        int[] w = new int[8], h = new int[8], flags = new int[8];
+        int count = 0;
+
+        public int size() { return count; }
+
+        void clear() { count = 0; }
+
+        void add(double px, double cx, double py, double cy, double pa, double ca, int width, int height, int flag) {
+            if (count == x.length) grow(count * 2);
+            int i = count++;
+            prevX[i] = px; x[i] = cx;
+            prevY[i] = py; y[i] = cy;
+            prevA[i] = pa; a[i] = ca;
+            w[i] = width; h[i] = height; flags[i] = flag;
+        }
+
+        /** คัดลอก entity ทั้งหมดจาก store (ใช้กับ meteor ที่มีจำนวนเยอะ) */
+        void copyFrom(EntityStore s) {
+            int n = s.size();
+            if (n > x.length) grow(Math.max(n, x.length * 2));
+            System.arraycopy(s.prevX, 0, prevX, 0, n);
+            System.arraycopy(s.x, 0, x, 0, n);
+            System.arraycopy(s.prevY, 0, prevY, 0, n);
+            System.arraycopy(s.y, 0, y, 0, n);
+            System.arraycopy(s.prevAngle, 0, prevA, 0, n);
+            System.arraycopy(s.angle, 0, a, 0, n);
+            System.arraycopy(s.size, 0, w, 0, n);
+            System.arraycopy(s.size, 0, h, 0, n);
+            System.arraycopy(s.type, 0, flags, 0, n);
+            count = n;
+        }
+
+        double lerpX(int i, double alpha) { return Entity.lerp(prevX[i], x[i], alpha); }
+        double lerpY(int i, double alpha) { return Entity.lerp(prevY[i], y[i], alpha); }
+        double lerpAngle(int i, double alpha) { return Entity.lerpAngle(prevA[i], a[i], alpha); }
+        double lerpPhase(int i, double alpha) { return Entity.lerp(prevA[i], a[i], alpha); }
+
+        private void grow(int cap) {
+            prevX = Arrays.copyOf(prevX, cap); x = Arrays.copyOf(x, cap);
+            prevY = Arrays.copyOf(prevY, cap); y = Arrays.copyOf(y, cap);
+            prevA = Arrays.copyOf(prevA, cap); a = Arrays.copyOf(a, cap);
+            w = Arrays.copyOf(w, cap); h = Arrays.copyOf(h, cap); flags = Arrays.copyOf(flags, cap);
+        }
+    }
+
+    final Layer obstacles = new Layer();
+    final Layer rocks = new Layer();
+    final Layer meteors = new Layer();
+    final Layer ufos = new Layer();
+    final Layer coins = new Layer();
+    final Layer particles = new Layer(); // a = อายุที่เหลือ (0..1), flags = ชนิด particle
+
+    // player
+    int playerPrevX, playerPrevY, playerX, playerY, playerW, playerH;
+    int playerFrame; // เลข frame ของ sprite (ดู Player.RUN_FRAMES)
+    boolean playerFlash;
+
+    // HUD / state
+    int score, gameSpeed, hp, maxHp;
+    boolean gameOver, won, invincible;
+    double prevScrollX, scrollX;
+    long tick;
+    long publishedNanos;
+    // เวลาที่ค้างใน accumulator ตอน publish และเกมหยุดอยู่หรือไม่ (หยุด = ไม่ต้อง interpolate)
+    long leftoverNanos;
+    boolean frozen;
+    // timestamp ของ input เก่าสุดที่ถูก apply ตั้งแต่ snapshot ก่อน (0 = ไม่มี) ใช้วัด key-to-present
+    long inputNanos;
+    // สถิติ EntityPool ของ sim (ไว้แสดงใน overlay F3)
+    long poolHits, poolMisses;
+
+    public int getScore() { return score; }
+    public int getGameSpeed() { return gameSpeed; }
+    public int getHp() { return hp; }
+    public int getMaxHp() { return maxHp; }
+    public boolean isGameOver() { return gameOver; }
+    public boolean isWon() { return won; }
+    public boolean isInvincible() { return invincible; }
+    public long getTick() { return tick; }
+    public long getPublishedNanos() { return publishedNanos; }
+    public long getInputNanos() { return inputNanos; }
+    public long getPoolHits() { return poolHits; }
+    public long getPoolMisses() { return poolMisses; }
+    public double getScrollX(double alpha) { return Entity.lerp(prevScrollX, scrollX, alpha); }
+
+    /** สัดส่วนระหว่าง tick ก่อนหน้ากับ tick ล่าสุด ณ เวลา nowNanos (0..1) */
+    public double alpha(long nowNanos) {
+        if (frozen) return 1.0;
+        double a = (leftoverNanos + nowNanos - publishedNanos) / (double) GameSimulation.TICK_NANOS;
+        return a < 0 ? 0 : (a > 1 ? 1 : a);
+    }
+
+    public Layer getObstacles() { return obstacles; }
+    public Layer getRocks() { return rocks; }
+    public Layer getMeteors() { return meteors; }
+    public Layer getUfos() { return ufos; }
+    public Layer getCoins() { return coins; }
+    public Layer getParticles() { return particles; }
+}
@@ -0,0 +1,193 @@
+package fluffyjump;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * A recorded run: the level, the seed and a run-length encoded stream of per-tick input, written by
+ * {@link ReplayRecorder}. {@link #play()} feeds that input to a fresh headless {@link GameSimulation} as fast
+ * as the CPU allows and checks the outcome against the trailer saved when the run ended.
+ *
+ * <p>Format: {@code int MAGIC, byte VERSION, byte level, long seed}, then varint records. The low
+ * {@link #RUN_SHIFT} bits of a record say what it is: an input state (bit 0 left, bit 1 right, bits 2-3 jumps
+ * in that tick) that held for {@code record >>> RUN_SHIFT} ticks, or, with {@link #CONTROL} set, a viewport
+ * change ({@code varint width, varint height}) or the end trailer ({@code varint tick, score, hp, byte flags}).
+ *
+ * <p>Run from the command line with {@code java -cp fluffyjump.jar fluffyjump.Replay <file.fjr>...}.
+ */
+public final class Replay {
+    static final int MAGIC = 0x464A5250; // "FJRP"
+    // 2: spawn มาจาก SpawnSchedule, 3: สุ่มจากตาราง SpawnDirector, 4: meteor เกิดเลยขอบขวาได้
+    // (ทุกครั้ง seed เดิมได้ course ต่างไป replay เก่าจึงเล่นซ้ำไม่ได้)
+    static final int VERSION = 4;
+    public static final String EXTENSION = ".fjr";
+
+    static final int LEFT = 1;
+    static final int RIGHT = 1 << 1;
+    static final int JUMP_SHIFT = 2;
+    static final int MAX_JUMPS = 3;
+    static final int CONTROL = 1 << 4;
+    static final int RUN_SHIFT = 5;
+
+    // ชนิดของ control record (อยู่ใน bit 0-3)
+    static final int VIEWPORT = 0;
+    static final int END = 1;
+
+    static final int END_WON = 1;
+    static final int END_GAME_OVER = 1 << 1;
+
+    /** ผลของการเล่น replay เทียบกับค่าที่บันทึกไว้ตอนจบรอบ (recorded* = -1 ถ้ารอบนั้นไม่ได้จบปกติ) */
+    public static final class Result {
+        private long ticks;
+        private int score, hp;
+        private boolean won, gameOver;
+        private long recordedTicks = -1;
+        private int recordedScore = -1, recordedHp = -1;
+        private boolean recordedWon, recordedGameOver;
+        private long elapsedNanos;
+
+        public boolean hasTrailer() { return recordedTicks >= 0; }
+
+        /** true ถ้าเล่นซ้ำได้ tick, score, hp และผลแพ้ชนะตรงกับที่บันทึกไว้ */
+        public boolean matches() {
+            return hasTrailer() && ticks == recordedTicks && score == recordedScore && hp == recordedHp
+                    && won == recordedWon && gameOver == recordedGameOver;
+        }
+
+        public long getTicks() { return ticks; }
+        public int getScore() { return score; }
+        public int getHp() { return hp; }
+        public boolean isWon() { return won; }
+        public boolean isGameOver() { return gameOver; }
+        public long getRecordedTicks() { return recordedTicks; }
+        public int getRecordedScore() { return recordedScore; }
+        public int getRecordedHp() { return recordedHp; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public double getTicksPerSecond() { return elapsedNanos > 0 ? ticks * 1e9 / elapsedNanos : 0; }
+
+        @Override public String toString() {
+            String verdict = !hasTrailer() ? "no trailer (run did not finish)" : matches() ? "OK" : String.format(
+                    "MISMATCH (recorded tick=%d score=%d hp=%d)", recordedTicks, recordedScore, recordedHp);
+            return String.format("tick=%d score=%d hp=%d%s%s  %s  [%.0f ticks/s]", ticks, score, hp,
+                    won ? " won" : "", gameOver ? " gameOver" : "", verdict, getTicksPerSecond());
+        }
+    }
+
+    private final RunnerGame.Level level;
+    private final long seed;
+    private final byte[] data;
+    private final int bodyStart;
+
+    private Replay(RunnerGame.Level level, long seed, byte[] data, int bodyStart) {
+        this.level = level;
+        this.seed = seed;
+        this.data = data;
+        this.bodyStart = bodyStart;
+    }
+
+    public static Replay load(Path path) throws IOException {
+        byte[] data = Files.readAllBytes(path);
+        ByteBuffer in = ByteBuffer.wrap(data);
+        if (data.length < 14 || in.getInt() != MAGIC) throw new IOException(path + ": not a replay file");
+        int version = in.get();
+        if (version != VERSION) throw new IOException(path + ": unsupported replay version " + version);
+        int level = in.get();
+        if (level < 0 || level >= RunnerGame.Level.values().length) throw new IOException(path + ": bad level " + level);
+        return new Replay(RunnerGame.Level.values()[level], in.getLong(), data, in.position());
+    }
+
+    /**
+     * Replays the whole run on a new simulation, without rendering or sleeping. Stops at the end trailer,
+     * at the end of the data (a run that was cut off), or when the simulation finishes.
+     */
+    public Result play() {
+        GameSimulation sim = new GameSimulation(level, seed);
+        Result r = new Result();
+        long start = System.nanoTime();
+        Reader in = new Reader(data, bodyStart);
+        while (in.hasMore() && !sim.isFinished()) {
+            long rec = in.varint();
+            int kind = (int) (rec & (CONTROL | 0xF));
+            if ((kind & CONTROL) == 0) {
+                boolean left = (kind & LEFT) != 0, right = (kind & RIGHT) != 0;
+                int jumps = kind >>> JUMP_SHIFT & MAX_JUMPS;
+                for (long n = rec >>> RUN_SHIFT; n > 0 && !sim.isFinished(); n--) {
+                    sim.setLeftPressed(left);
+                    sim.setRightPressed(right);
+                    for (int j = 0; j < jumps; j++) sim.jump();
+                    sim.step();
+                }
+            } else if ((kind & 0xF) == VIEWPORT) {
+                sim.setViewport((int) in.varint(), (int) in.varint());
+            } else if ((kind & 0xF) == END) {
+                readTrailer(in, r);
+                break;
+            } else {
+                break; // record ที่ไม่รู้จัก: ไฟล์เสีย
+            }
+        }
+        // จบเกมตรงกับ tick สุดท้ายพอดี: trailer ยังไม่ถูกอ่านใน loop
+        if (!r.hasTrailer() && in.hasMore()) {
+            long rec = in.varint();
+            if ((rec & (CONTROL | 0xF)) == (CONTROL | END)) readTrailer(in, r);
+        }
+        r.elapsedNanos = System.nanoTime() - start;
+        r.ticks = sim.getTick();
+        r.score = sim.getScore();
+        r.hp = sim.getHp();
+        r.won = sim.isWon();
+        r.gameOver = sim.isGameOver();
+        return r;
+    }
+
+    private static void readTrailer(Reader in, Result r) {
+        r.recordedTicks = in.varint();
+        r.recordedScore = (int) in.varint();
+        r.recordedHp = (int) in.varint();
+        int flags = in.hasMore() ? in.data[in.pos++] : 0;
+        r.recordedWon = (flags & END_WON) != 0;
+        r.recordedGameOver = (flags & END_GAME_OVER) != 0;
+    }
+
+    private static final class Reader {
+        final byte[] data;
+        int pos;
+
+        Reader(byte[] data, int pos) { this.data = data; this.pos = pos; }
+
+        boolean hasMore() { return pos < data.length; }
+
+        long varint() {
+            long v = 0;
+            for (int shift = 0; pos < data.length && shift < 64; shift += 7) {
+                byte b = data[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            return v;
+        }
+    }
+
+    public RunnerGame.Level getLevel() { return level; }
+    public long getSeed() { return seed; }
+    public int getSizeBytes() { return data.length; }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: fluffyjump.Replay <file" + EXTENSION + ">...");
+            System.exit(2);
+        }
+        boolean allOk = true;
+        for (String arg : args) {
+            Replay replay = load(Paths.get(arg));
+            Result r = replay.play();
+            System.out.printf("%s: %s seed=%x %d bytes  %s%n", arg, replay.getLevel(), replay.getSeed(),
+                    replay.getSizeBytes(), r);
+            allOk &= !r.hasTrailer() || r.matches();
+        }
+        System.exit(allOk ? 0 : 1);
+    }
+}
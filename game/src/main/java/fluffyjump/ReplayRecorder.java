@@ -0,0 +1,184 @@
+package fluffyjump;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Records one run as its seed plus the input of every tick, in the compact format read by {@link Replay}.
+ * {@link #recordTick} is called from the simulation thread and only packs bytes into an in-memory chunk;
+ * full chunks (and a partial one every {@link #FLUSH_TICKS} ticks, so a crash loses at most a few seconds)
+ * are handed to a single background thread that creates the file and writes them through a
+ * {@link FileChannel}. An I/O error is reported once on stderr and the rest of the run is dropped; the game
+ * itself never waits on or fails because of the file.
+ */
+public final class ReplayRecorder {
+    private static final int CHUNK_BYTES = 4096;
+    private static final int MAX_RECORD_BYTES = 32;   // header หรือ record ที่ยาวที่สุดต้องไม่เกินนี้
+    private static final int FLUSH_TICKS = 600;       // ส่งลงไฟล์อย่างน้อยทุก ~10 วินาทีของเกม
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ReplayWriter");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    private final Path path;
+    private FileChannel channel; // WRITER thread only
+    private volatile boolean failed = false;
+
+    // ===== game thread only =====
+    private byte[] chunk = new byte[CHUNK_BYTES];
+    private int pos = 0;
+    private int runBits = 0;
+    private long runTicks = 0;
+    private int lastWidth = -1, lastHeight = -1;
+    private long ticks = 0;
+    private int ticksSinceFlush = 0;
+    private boolean finished = false;
+
+    private ReplayRecorder(Path path, RunnerGame.Level level, long seed) {
+        this.path = path;
+        ByteBuffer header = ByteBuffer.wrap(chunk);
+        header.putInt(Replay.MAGIC);
+        header.put((byte) Replay.VERSION);
+        header.put((byte) level.ordinal());
+        header.putLong(seed);
+        pos = header.position();
+    }
+
+    /** เริ่มบันทึกรอบที่เริ่มด้วย seed นี้ลงไฟล์ใหม่ใน dir (ไฟล์ถูกสร้างบน writer thread) */
+    public static ReplayRecorder create(Path dir, RunnerGame.Level level, long seed) {
+        Path path = dir.resolve(level.name().toLowerCase() + "-" + Long.toHexString(seed) + Replay.EXTENSION);
+        ReplayRecorder r = new ReplayRecorder(path, level, seed);
+        WRITER.execute(() -> {
+            try {
+                Files.createDirectories(dir);
+                r.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException e) {
+                r.fail(e);
+            }
+        });
+        return r;
+    }
+
+    /**
+     * Records the input the simulation is about to step with. Consecutive ticks with the same input are
+     * run-length encoded, so held keys and idle stretches cost a byte or two no matter how long they last.
+     */
+    public void recordTick(boolean left, boolean right, int jumps, int width, int height) {
+        if (finished) return;
+        if (width != lastWidth || height != lastHeight) {
+            flushRun();
+            ensureRoom();
+            putVarint(Replay.CONTROL | Replay.VIEWPORT);
+            putVarint(width);
+            putVarint(height);
+            lastWidth = width;
+            lastHeight = height;
+        }
+        int bits = (left ? Replay.LEFT : 0) | (right ? Replay.RIGHT : 0)
+                | Math.min(jumps, Replay.MAX_JUMPS) << Replay.JUMP_SHIFT;
+        if (runTicks > 0 && bits != runBits) flushRun();
+        runBits = bits;
+        runTicks++;
+        ticks++;
+        if (++ticksSinceFlush >= FLUSH_TICKS) {
+            flushRun();
+            submitChunk();
+        }
+    }
+
+    /**
+     * Ends the recording with a trailer holding the final tick, score and hp, so playback can check that it
+     * reproduces the same result. Safe to call more than once; later calls do nothing.
+     */
+    public void finish(GameSimulation sim) {
+        if (finished) return;
+        finished = true;
+        flushRun();
+        ensureRoom();
+        putVarint(Replay.CONTROL | Replay.END);
+        putVarintLong(sim.getTick());
+        putVarint(sim.getScore());
+        putVarint(sim.getHp());
+        chunk[pos++] = (byte) ((sim.isWon() ? Replay.END_WON : 0) | (sim.isGameOver() ? Replay.END_GAME_OVER : 0));
+        submitChunk();
+        WRITER.execute(() -> {
+            if (failed) return;
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+    }
+
+    private void flushRun() {
+        if (runTicks == 0) return;
+        ensureRoom();
+        putVarintLong(runTicks << Replay.RUN_SHIFT | runBits);
+        runTicks = 0;
+    }
+
+    private void ensureRoom() {
+        if (pos + MAX_RECORD_BYTES > chunk.length) submitChunk();
+    }
+
+    /** ส่ง chunk ปัจจุบันให้ writer thread แล้วเริ่ม chunk ใหม่ (ไม่แตะไฟล์บน game thread) */
+    private void submitChunk() {
+        ticksSinceFlush = 0;
+        if (pos == 0) return;
+        ByteBuffer out = ByteBuffer.wrap(chunk, 0, pos);
+        chunk = new byte[CHUNK_BYTES];
+        pos = 0;
+        WRITER.execute(() -> {
+            if (failed) return;
+            try {
+                while (out.hasRemaining()) channel.write(out);
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+    }
+
+    private void fail(IOException e) {
+        if (failed) return;
+        failed = true;
+        System.err.println("replay: cannot write " + path + ": " + e);
+        try { if (channel != null) channel.close(); } catch (IOException ignored) {}
+    }
+
+    private void putVarint(int v) { putVarintLong(v & 0xFFFFFFFFL); }
+
+    private void putVarintLong(long v) {
+        while ((v & ~0x7FL) != 0) {
+            chunk[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        chunk[pos++] = (byte) v;
+    }
+
+    /** รอจน writer thread เขียนทุกอย่างที่ส่งไปแล้ว (รวมปิดไฟล์หลัง finish) เสร็จ; ไว้ใช้ตอนอ่านไฟล์ต่อทันที เช่นใน test */
+    void awaitWritten() throws InterruptedException {
+        try {
+            WRITER.submit(() -> {}).get(); // thread เดียว ทำงานตามลำดับ: งานนี้เสร็จ = งานก่อนหน้าเสร็จหมดแล้ว
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Path getPath() { return path; }
+    public long getTicks() { return ticks; }
+    public boolean isFinished() { return finished; }
+    public boolean hasFailed() { return failed; }
+}
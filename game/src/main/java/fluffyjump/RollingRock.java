@@ -0,0 +1,63 @@
+package fluffyjump;
+
+import java.util.Random;
+
+public class RollingRock implements Entity {
+    private double x, y;
+    private int size;
+    private double angleDeg = 0.0;
+    private double prevX, prevAngleDeg;
+
+    /** ใช้กับ EntityPool: สร้างเปล่าไว้ แล้วเรียก reset ก่อนใช้ */
+    RollingRock() {}
+
+    public RollingRock(double startX, int groundY, Random random) {
+        reset(startX, groundY, random);
+    }
+
+    public RollingRock reset(double startX, int groundY, Random random) {
+        this.angleDeg = 0.0;
+        this.prevAngleDeg = 0.0;
+        this.size = 32 + random.nextInt(25);
+        this.x = startX;
+        this.prevX = startX;
+        this.y = groundY - size;
+        return this;
+    }
+
+    public RollingRock copyFrom(RollingRock o) {
+        x = o.x; y = o.y; size = o.size;
+        angleDeg = o.angleDeg; prevX = o.prevX; prevAngleDeg = o.prevAngleDeg;
+        return this;
+    }
+
+    // ==== Entity.update ====
+    @Override
+    public void update(double gameSpeed) {
+        prevX = x; prevAngleDeg = angleDeg;
+        x -= gameSpeed + 1.5;
+        angleDeg += Math.max(2, gameSpeed * 2.2);
+        if (angleDeg >= 360) angleDeg -= 360;
+    }
+
+    public void snapshot(RenderSnapshot.Layer out) {
+        out.add(prevX, x, y, y, prevAngleDeg, angleDeg, size, size, 0);
+    }
+
+    // ==== Entity.isOffscreen ====
+    @Override
+    public boolean isOffscreen(int panelW, int panelH) { return isOffscreenLeft(80); }
+
+    public boolean isOffscreenLeft(int bufferPx) { return x + size < -bufferPx; }
+
+    public double getCenterX() { return x + size / 2.0; }
+    public double getCenterY() { return y + size / 2.0; }
+    public double getRadius()  { return size / 2.0; }
+
+    public int getX() { return (int)Math.round(x); }
+    public int getY() { return (int)Math.round(y); }
+    public int getSize() { return size; }
+
+    // resize helper
+    public void shiftY(double dy) { this.y += dy; }
+}
@@ -0,0 +1,163 @@
+package fluffyjump;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Draws a whole layer of spinning sprites (thousands of meteors) in one batch instead of one
+ * {@code drawImage} per entity. Frames come from a {@link RotationCache} as raw pixels and are composited
+ * (premultiplied source-over) by plain array code into a transparent overlay the size of the view, which is
+ * then drawn with a single {@code drawImage}.
+ *
+ * <p>The overlay is split into horizontal bands that are composited in parallel on a {@link ForkJoinPool}.
+ * Every band walks the entities in layer order, so overlapping sprites stack exactly as in a sequential
+ * draw, and no two threads ever write the same pixel. If the cache cannot hold some frame the layer needs,
+ * the whole layer is drawn one entity at a time instead, so the stacking order stays the same either way.
+ */
+public final class RotationBatch {
+    private static final int MIN_BAND_ROWS = 16;
+
+    /** วาดทีละตัวด้วยวิธีปกติ (ใช้เมื่อบาง frame ไม่มี pixel ใน cache) */
+    public interface Fallback {
+        void draw(Graphics2D g2, RenderSnapshot.Layer layer, int i, double alpha, double scale);
+    }
+
+    private final RotationCache cache;
+    private final ForkJoinPool pool;
+
+    private BufferedImage overlay;
+    private int[] dst;
+    private int width, height;
+
+    // ตำแหน่งบนจอและ frame ของแต่ละตัวที่ต้องวาด (เตรียมบน thread ที่เรียก แล้ว band ต่าง ๆ อ่านอย่างเดียว)
+    private int[] dstX = new int[0], dstY = new int[0];
+    private RotationCache.Pixels[] framePixels = new RotationCache.Pixels[0];
+    private int count;
+
+    public RotationBatch(RotationCache cache, ForkJoinPool pool) {
+        this.cache = cache;
+        this.pool = pool;
+    }
+
+    /**
+     * Draws every entity of {@code layer} (square sprites, {@code w} is the size, {@code a} the angle) at its
+     * interpolated pose onto {@code g2}, which has no transform and covers {@code w x h} pixels. Poses and
+     * sizes are multiplied by {@code scale} (pixels per logical unit) and frames are taken at the scaled size.
+     */
+    public synchronized void draw(Graphics2D g2, RenderSnapshot.Layer layer, double alpha, double scale,
+                                  int w, int h, Fallback fallbackPainter) {
+        if (w <= 0 || h <= 0) return;
+        ensureOverlay(w, h);
+        if (!prepare(layer, alpha, scale)) {
+            // ถ้าวาดตัวที่ขาดทีหลัง overlay ลำดับการทับจะเปลี่ยน จึงวาดทั้ง layer ทีละตัวแทน
+            for (int i = 0; i < layer.size(); i++) fallbackPainter.draw(g2, layer, i, alpha, scale);
+            return;
+        }
+        int bands = Math.max(1, Math.min(pool.getParallelism() * 4, h / MIN_BAND_ROWS));
+        pool.invoke(new Bands(0, bands, bands));
+        g2.drawImage(overlay, 0, 0, null);
+    }
+
+    private void ensureOverlay(int w, int h) {
+        if (overlay != null && width == w && height == h) return;
+        overlay = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        dst = ((DataBufferInt) overlay.getRaster().getDataBuffer()).getData();
+        width = w;
+        height = h;
+    }
+
+    /** เตรียมตำแหน่งและ frame ของทุกตัวที่อยู่บนจอ; false ถ้า cache ให้ frame บางตัวไม่ได้ */
+    private boolean prepare(RenderSnapshot.Layer layer, double alpha, double scale) {
+        int n = layer.size();
+        if (dstX.length < n) {
+            int cap = Math.max(n, dstX.length * 2);
+            dstX = Arrays.copyOf(dstX, cap);
+            dstY = Arrays.copyOf(dstY, cap);
+            framePixels = Arrays.copyOf(framePixels, cap);
+        }
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            int size = EntityRenderer.pxSize(layer.w[i], scale);
+            int side = RotationCache.side(size);
+            // จุดวางเหมือน EntityRenderer.drawMeteor: ศูนย์กลาง frame ตรงกับศูนย์กลาง sprite
+            int x = (int) Math.round(layer.lerpX(i, alpha) * scale + size / 2.0 - side / 2.0);
+            int y = (int) Math.round(layer.lerpY(i, alpha) * scale + size / 2.0 - side / 2.0);
+            if (x >= width || y >= height || x + side <= 0 || y + side <= 0) continue; // นอกจอ
+            RotationCache.Pixels p = cache.pixels(size, RotationCache.step(layer.lerpAngle(i, alpha)));
+            if (p == null) {
+                count = 0;
+                return false;
+            }
+            dstX[count] = x;
+            dstY[count] = y;
+            framePixels[count] = p;
+            count++;
+        }
+        return true;
+    }
+
+    private final class Bands extends RecursiveAction {
+        private final int from, to, total;
+
+        Bands(int from, int to, int total) {
+            this.from = from;
+            this.to = to;
+            this.total = total;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                compositeBand(height * from / total, height * to / total);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Bands(from, mid, total), new Bands(mid, to, total));
+        }
+    }
+
+    /** ล้างแถว [top, bottom) ของ overlay แล้ววาดทุกตัวที่ทับแถวเหล่านั้น ตามลำดับใน layer */
+    private void compositeBand(int top, int bottom) {
+        final int[] dst = this.dst;
+        final int w = width;
+        Arrays.fill(dst, top * w, bottom * w, 0);
+        for (int k = 0; k < count; k++) {
+            RotationCache.Pixels frame = framePixels[k];
+            int y0 = dstY[k], side = frame.side;
+            int ya = Math.max(y0, top), yb = Math.min(y0 + side, bottom);
+            if (ya >= yb) continue;
+            int x0 = dstX[k];
+            int[] src = frame.argb;
+            for (int y = ya; y < yb; y++) {
+                // เฉพาะช่วงที่มี pixel ในแถวนั้น (มุมของ frame ที่หมุนแล้วใสทั้งหมด)
+                int xa = Math.max(x0 + frame.rowStart[y - y0], 0), xb = Math.min(x0 + frame.rowEnd[y - y0], w);
+                int s = (y - y0) * side + (xa - x0);
+                int d = y * w + xa;
+                for (int x = xa; x < xb; x++, s++, d++) {
+                    int sp = src[s];
+                    int sa = sp >>> 24;
+                    if (sa == 0) continue;
+                    int dp = dst[d];
+                    if (sa == 255 || dp == 0) {
+                        dst[d] = sp;
+                        continue;
+                    }
+                    dst[d] = sp + scale(dp, 255 - sa);
+                }
+            }
+        }
+    }
+
+    /** คูณทั้ง 4 channel ของ premultiplied pixel ด้วย f/255 (ปัดเศษ) ทีละสอง channel */
+    static int scale(int p, int f) {
+        int rb = (p & 0x00FF00FF) * f + 0x00800080;
+        rb = ((rb + ((rb >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+        int ag = ((p >>> 8) & 0x00FF00FF) * f + 0x00800080;
+        ag = (ag + ((ag >>> 8) & 0x00FF00FF)) & 0xFF00FF00;
+        return ag | rb;
+    }
+}
@@ -0,0 +1,186 @@
+package fluffyjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Pre-rotated frame strips for spinning sprites. The angle is quantised to {@link #STEPS} steps and each
+ * (size, step) frame is rendered once, on first use, by the archetype's {@link Painter}. Drawing is then a
+ * plain untransformed blit of the nearest frame instead of a rotated, bilinear-filtered draw per object.
+ *
+ * <p>All strips of all caches share one memory budget. Once it is spent, the strip (every frame of one size
+ * of one sprite) used least recently is dropped to make room, so after the render scale changes the cache
+ * moves over to the new sizes instead of staying full of the old ones. Only a frame that cannot fit even
+ * after everything else is dropped falls back to the old rotate-and-paint path. {@link #pixels} hands
+ * {@link RotationBatch} the same cached frame as raw premultiplied ARGB ints, reading the image's own pixel
+ * array, so a size drawn both ways is stored (and charged) once; only the per-row spans come on top.
+ */
+public final class RotationCache {
+    public static final int STEPS = 64;
+    private static final long BUDGET_BYTES = 48L * 1024 * 1024;
+
+    // budget ใช้ร่วมกันทุก cache: ตัวนับ นาฬิกาของ LRU และรายการ strip ที่มี frame อยู่ ล็อกด้วย LOCK ตัวเดียว
+    private static final Object LOCK = new Object();
+    private static final ArrayList<Strip> LOADED = new ArrayList<>();
+    private static long usedBytes, evictions, clock;
+
+    /** วาด sprite แบบยังไม่หมุน โดยให้จุดศูนย์กลางอยู่ที่ (0, 0) */
+    public interface Painter {
+        void paint(Graphics2D g2, int size);
+    }
+
+    /** ทุก frame ของขนาดเดียว: หน่วยที่ถูกทิ้งตอน budget เต็ม */
+    private static final class Strip {
+        final BufferedImage[] frames = new BufferedImage[STEPS];
+        final Pixels[] pixels = new Pixels[STEPS]; // สำหรับ RotationBatch: ใช้ array เดียวกับ frames[step]
+        long bytes;    // ขนาดของ frame (และช่วงแถวของ pixels) ที่ strip นี้ถืออยู่
+        long lastUsed; // ค่า clock ตอนถูกใช้ครั้งล่าสุด
+    }
+
+    private final Painter painter;
+    private Strip[] strips = new Strip[0]; // [size]
+
+    /**
+     * One frame as raw premultiplied ARGB (the cached image's own array), plus the non-transparent span of
+     * each row. Read only.
+     */
+    public static final class Pixels {
+        final int side;
+        final int[] argb;
+        final int[] rowStart, rowEnd; // ช่วง [start, end) ของแถวที่มี pixel ไม่ใส (start == end: แถวว่าง)
+
+        Pixels(int side, int[] argb) {
+            this.side = side;
+            this.argb = argb;
+            rowStart = new int[side];
+            rowEnd = new int[side];
+            for (int y = 0; y < side; y++) {
+                int a = 0, b = side, row = y * side;
+                while (a < b && argb[row + a] >>> 24 == 0) a++;
+                while (b > a && argb[row + b - 1] >>> 24 == 0) b--;
+                rowStart[y] = a;
+                rowEnd[y] = b;
+            }
+        }
+    }
+
+    public RotationCache(Painter painter) {
+        this.painter = painter;
+    }
+
+    /** วาด sprite ขนาด size หมุน angleDeg โดยให้จุดศูนย์กลางอยู่ที่ (cx, cy) */
+    public void draw(Graphics2D g2, double cx, double cy, int size, double angleDeg) {
+        BufferedImage frame = frame(size, step(angleDeg));
+        if (frame != null) {
+            int side = frame.getWidth();
+            g2.drawImage(frame, (int) Math.round(cx - side / 2.0), (int) Math.round(cy - side / 2.0), null);
+            return;
+        }
+        // เกิน budget: วาดแบบหมุนสด ๆ เหมือนเดิม
+        Graphics2D g = (Graphics2D) g2.create();
+        g.translate(cx, cy);
+        g.rotate(Math.toRadians(angleDeg));
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        painter.paint(g, size);
+        g.dispose();
+    }
+
+    /** frame (size, step) จาก cache (วาดใหม่ถ้ายังไม่มี) หรือ null ถ้าใหญ่เกิน budget */
+    BufferedImage frame(int size, int step) {
+        if (size <= 0) return null;
+        synchronized (LOCK) {
+            Strip strip = strip(size);
+            BufferedImage f = strip.frames[step];
+            if (f == null) {
+                int side = side(size);
+                if (!reserve(strip, (long) side * side * 4)) return null;
+                f = strip.frames[step] = render(size, step, side);
+            }
+            return f;
+        }
+    }
+
+    /** Frame (size, step) as raw pixels, {@link #side(int)} pixels square, or null if it cannot fit the budget. */
+    public Pixels pixels(int size, int step) {
+        if (size <= 0) return null;
+        synchronized (LOCK) {
+            Strip strip = strip(size);
+            Pixels p = strip.pixels[step];
+            if (p != null) return p;
+            BufferedImage img = frame(size, step); // reserve ไม่ทิ้ง strip ที่กำลังเติม จึงยังเป็น strip เดิม
+            if (img == null) return null;
+            int side = img.getWidth();
+            if (!reserve(strip, (long) side * 2 * 4)) return null; // แค่ rowStart/rowEnd: pixel นับไปกับ frame แล้ว
+            // array ของภาพเอง (TYPE_INT_ARGB_PRE) ไม่ใช่สำเนา
+            int[] argb = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+            return strip.pixels[step] = new Pixels(side, argb);
+        }
+    }
+
+    /** strip ของขนาด size (สร้างถ้ายังไม่มี) และนับว่าเพิ่งถูกใช้ */
+    private Strip strip(int size) {
+        if (size >= strips.length) strips = Arrays.copyOf(strips, Math.max(size + 1, strips.length * 2));
+        Strip strip = strips[size];
+        if (strip == null) strip = strips[size] = new Strip();
+        strip.lastUsed = ++clock;
+        return strip;
+    }
+
+    /**
+     * กัน bytes ใน budget ให้ strip โดยทิ้ง strip อื่นที่ไม่ได้ใช้นานที่สุดก่อน (ทุก cache);
+     * false ถ้าทิ้งหมดแล้วยังไม่พอ
+     */
+    private static boolean reserve(Strip strip, long bytes) {
+        while (usedBytes + bytes > BUDGET_BYTES) {
+            Strip victim = null;
+            for (Strip s : LOADED) {
+                if (s != strip && (victim == null || s.lastUsed < victim.lastUsed)) victim = s;
+            }
+            if (victim == null) return false;
+            evict(victim);
+        }
+        if (strip.bytes == 0) LOADED.add(strip);
+        strip.bytes += bytes;
+        usedBytes += bytes;
+        return true;
+    }
+
+    private static void evict(Strip strip) {
+        LOADED.remove(strip);
+        usedBytes -= strip.bytes;
+        strip.bytes = 0;
+        Arrays.fill(strip.frames, null);
+        Arrays.fill(strip.pixels, null);
+        evictions++;
+    }
+
+    /** ความกว้าง/สูงของ frame ขนาด size (พอให้ sprite หมุนได้ทุกมุมโดยไม่ถูกตัด) */
+    public static int side(int size) {
+        return (int) Math.ceil(size * Math.sqrt(2)) + 2;
+    }
+
+    /** มุม (องศา) เป็น step ของ frame ที่ใกล้ที่สุด */
+    public static int step(double angleDeg) {
+        return (int) Math.round(angleDeg * STEPS / 360.0) & (STEPS - 1);
+    }
+
+    private BufferedImage render(int size, int step, int side) {
+        BufferedImage img = new BufferedImage(side, side, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.translate(side / 2.0, side / 2.0);
+        g.rotate(step * (2 * Math.PI / STEPS));
+        painter.paint(g, size);
+        g.dispose();
+        return img;
+    }
+
+    public static long getUsedBytes() { synchronized (LOCK) { return usedBytes; } }
+    public static long getBudgetBytes() { return BUDGET_BYTES; }
+    public static long getEvictions() { synchronized (LOCK) { return evictions; } }
+}
@@ -0,0 +1,737 @@
+package fluffyjump;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+public class RunnerGame extends JPanel implements KeyListener {
+
+    public enum Level { EARTH, PLANET, METEOR_SHOWER }
+
+    // render FPS แยกจาก tick rate ของ simulation; 0 = ไม่จำกัด (วาดเร็วเท่าที่ทำได้)
+    private static final int TARGET_FPS = Integer.getInteger("fluffyjump.fps", 60);
+    // ตอน idle (pause/จบเกม/ย่อหน้าต่าง) รอ event; ตื่นเองเป็นระยะเผื่อหน้าจอต้องวาดใหม่
+    private static final long IDLE_POLL_MILLIS = 250;
+    // ถ้าเครื่องช้าจนตามไม่ทัน ให้ไล่ tick ได้ไม่เกินเท่านี้ต่อเฟรม (กัน spiral of death)
+    private static final int MAX_CATCH_UP_STEPS = 5;
+    // active rendering (BufferStrategy บน Canvas) เปิดด้วย -Dfluffyjump.render=active
+    private static final boolean ACTIVE_RENDERING_DEFAULT = "active".equals(System.getProperty("fluffyjump.render"));
+    private static final int ACTIVE_BUFFERS = 3;
+    // พิมพ์ latency histogram ตอนจบ game loop ด้วย -Dfluffyjump.stats=true
+    private static final boolean PRINT_STATS = Boolean.getBoolean("fluffyjump.stats");
+    // บันทึกทุกรอบเป็น replay ลงโฟลเดอร์นี้ด้วย -Dfluffyjump.replay=<dir> (เล่นซ้ำด้วย fluffyjump.Replay)
+    private static final String REPLAY_DIR = System.getProperty("fluffyjump.replay");
+
+    // โลกของเกมมีขนาดคงที่: วาดลง backbuffer ขนาดนี้ x render scale แล้วขยายลงหน้าต่างครั้งเดียวต่อเฟรม
+    public static final int LOGICAL_WIDTH = 800;
+    public static final int LOGICAL_HEIGHT = 600;
+    public static final double MIN_RENDER_SCALE = 0.5;
+    public static final double MAX_RENDER_SCALE = 2.0;
+    // F4 วนตามนี้; ค่าเริ่มต้นตั้งด้วย -Dfluffyjump.renderScale=0.75 (เครื่องช้าใช้ค่าต่ำ = วาดน้อย pixel ลง)
+    private static final double[] RENDER_SCALE_STEPS = { 0.5, 0.75, 1.0, 1.5, 2.0 };
+    private static final double RENDER_SCALE_DEFAULT = renderScaleProperty();
+
+    private final Level level;
+    private final GameSimulation sim;
+    // sim ถูกแตะจาก game thread เท่านั้น; EDT ส่งคำสั่งผ่าน flag และวาดจาก snapshot
+    private final SnapshotExchange snapshots = new SnapshotExchange();
+    private volatile boolean paused = false;
+    private volatile boolean gameOver = false;
+    private volatile boolean restartRequested = false;
+
+    // input: EDT เป็น producer, game thread drain ตอนต้นแต่ละ tick
+    private final InputQueue inputs = new InputQueue(256);
+    private final LatencyHistogram keyToSim = new LatencyHistogram("key->sim");
+    private final LatencyHistogram keyToPresent = new LatencyHistogram("key->present");
+    private long pendingInputNanos = 0;      // game thread only
+    private long renderedInputNanos = 0;     // thread ที่วาด (game thread หรือ EDT)
+    private long renderEndNanos = 0;         // thread ที่วาด: เวลาที่ renderFrame วาดเสร็จ
+    private volatile long lastPaintNanos = 0; // เวลาวาด+present ของ paintComponent ล่าสุด (passive)
+    private long lastPresentedInputNanos = 0;
+
+    // เวลาที่กดเริ่มจากเมนู และเวลาจนเฟรมแรกขึ้นจอ (0 = ไม่ได้มาจากเมนู/ยังไม่ขึ้น)
+    private volatile long launchNanos = 0;
+    private volatile long firstFrameNanos = 0;
+
+    // จับเวลาแต่ละ phase ตลอด; F3 เปิด/ปิด overlay
+    private final FrameProfiler profiler = new FrameProfiler();
+    private volatile boolean showProfiler = false;
+
+    private ReplayRecorder recorder; // game thread only; null = ไม่ได้บันทึก
+
+    // attract mode: บอทเล่นแทน (game thread เท่านั้น); null = ผู้เล่นคุมเอง
+    private final LookaheadBot bot;
+    private static final int ATTRACT_END_HOLD_MILLIS = 2500; // ค้างหน้าจบเดโมไว้ก่อนกลับเมนู
+    private volatile boolean attractEnding = false;
+
+    // asset ของด่าน: decode บน pool ของ AssetManager ระหว่างนั้นจอแสดง Loading แล้ว loop เริ่มเมื่อเสร็จ
+    private final CompletableFuture<Void> assetsReady;
+    private BackgroundLayers background; // thread ที่วาดเท่านั้น; สร้างเมื่อ asset พร้อม
+    private volatile double renderScale = RENDER_SCALE_DEFAULT;
+    // backbuffer: VolatileImage เมื่อวาดขึ้นจอ (sprite และการขยายลงหน้าต่างยังเร่งด้วย GPU ได้), ไม่งั้น BufferedImage
+    // ใช้จาก thread ที่วาดเท่านั้น (EDT หรือ game thread ถ้า active)
+    private VolatileImage accelBackbuffer;
+    private BufferedImage softBackbuffer;
+    private final ActiveRenderCanvas canvas; // null = passive (repaint/paintComponent)
+    private final ActiveRenderCanvas.FrameRenderer frameRenderer = this::renderFrame;
+
+    // Game loop
+    private volatile boolean running = false;
+    private volatile boolean closed = false; // ออกจากด่านแล้ว (อาจก่อน loop จะได้เริ่ม)
+    private Thread gameThread;
+    private volatile FrameScheduler scheduler = FrameScheduler.forFps(TARGET_FPS);
+    private final Object idleLock = new Object();
+    private boolean wakeRequested = false; // guarded by idleLock
+    private final WindowStateListener onWindowState = e -> wakeLoop();
+    private Window listenedWindow; // EDT only
+
+    // ปุ่มกลับหน้าแรก (มุมขวาบน)
+    private JButton backButton;
+
+    public RunnerGame() { this(Level.EARTH); }
+
+    public RunnerGame(Level level) { this(level, ACTIVE_RENDERING_DEFAULT); }
+
+    public RunnerGame(Level level, boolean activeRendering) { this(level, activeRendering, true); }
+
+    /** startLoop = false: ไม่สร้าง game thread (ใช้กับ benchmark ที่เดิน tick เองผ่าน {@link #advance}) */
+    RunnerGame(Level level, boolean activeRendering, boolean startLoop) {
+        this(level, activeRendering, startLoop, null);
+    }
+
+    /** เดโมที่บอทเล่นเองให้ดูจากเมนู; กดปุ่มหรือคลิกอะไรก็ได้เพื่อกลับเมนู */
+    static RunnerGame attract(Level level) {
+        return new RunnerGame(level, ACTIVE_RENDERING_DEFAULT, true, LookaheadBot.forAttractMode(level));
+    }
+
+    private RunnerGame(Level level, boolean activeRendering, boolean startLoop, LookaheadBot bot) {
+        this.level = level;
+        this.bot = bot;
+        // ไม่รอบน EDT: ถ้าเมนู preload ไว้แล้ว future นี้เสร็จอยู่แล้ว
+        this.assetsReady = AssetManager.shared().preload(AssetManager.forLevel(level), null);
+        this.sim = new GameSimulation(level);
+        sim.setProfiler(profiler);
+        sim.setParticles(new ParticleSystem(ParticleSystem.DEFAULT_CAPACITY));
+        setPreferredSize(new Dimension(800, 600));
+        setBackground(level == Level.EARTH ? new Color(140, 235, 255) : new Color(5, 10, 25));
+        setFocusable(true);
+        setDoubleBuffered(true);
+        setLayout(null);
+        addKeyListener(this);
+        addIdleWakeListeners();
+
+        initGame();
+        addBackButton();
+        if (activeRendering) {
+            // ปุ่ม Back ถูก add ก่อนจึงอยู่บน canvas (z-order)
+            canvas = new ActiveRenderCanvas(ACTIVE_BUFFERS);
+            canvas.setBounds(0, 0, getWidth(), getHeight());
+            canvas.setVisible(false); // ซ่อนไว้จน loop เริ่ม ระหว่างนั้น paintComponent วาด Loading
+            add(canvas);
+        } else {
+            canvas = null;
+        }
+        if (bot != null) {
+            MouseAdapter leave = new MouseAdapter() {
+                @Override public void mousePressed(MouseEvent e) { backToMenu(); }
+            };
+            addMouseListener(leave);
+            if (canvas != null) canvas.addMouseListener(leave);
+        }
+        if (startLoop) assetsReady.thenRun(() -> SwingUtilities.invokeLater(this::startWhenLoaded));
+    }
+
+    /** EDT: asset ของด่านพร้อมแล้ว เริ่มเกม (ถ้ายังไม่ได้ออกจากด่านไประหว่างโหลด) */
+    private void startWhenLoaded() {
+        if (closed) return;
+        if (canvas != null) canvas.setVisible(true);
+        startGameLoop60();
+        repaint();
+    }
+
+    /** เดิน simulation ticks ครั้งแล้ว publish snapshot; ใช้เมื่อไม่มี game thread เท่านั้น */
+    void advance(int ticks) {
+        if (running) throw new IllegalStateException("game loop is running");
+        for (int i = 0; i < ticks && !sim.isFinished(); i++) sim.step();
+        publishSnapshot(0);
+    }
+    private void drawWinOverlay(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setColor(new Color(0, 0, 0, 160));
+        g2.fillRect(0, 0, LOGICAL_WIDTH, LOGICAL_HEIGHT);
+        g2.setColor(Color.WHITE);
+        g2.setFont(new Font("SansSerif", Font.BOLD, 36));
+        String text = "WIN!";
+        int tw = g2.getFontMetrics().stringWidth(text);
+        g2.drawString(text, (LOGICAL_WIDTH - tw) / 2, 220);
+
+        g2.dispose();
+    }
+    private void initGame() {
+        sim.setViewport(LOGICAL_WIDTH, LOGICAL_HEIGHT);
+        publishSnapshot(0);
+    }
+
+    /**
+     * พื้นหลังของด่าน สร้างตอนวาดครั้งแรกหลัง asset พร้อม (null ระหว่างโหลด): ถ้าเมนู warm-up ด่านนี้ไว้แล้ว
+     * ใช้ตัวที่ cache ไว้ต่อเลย ไม่งั้นสร้างใหม่
+     */
+    private BackgroundLayers background() {
+        if (background == null && assetsReady.isDone()) {
+            background = LevelWarmup.shared().takeBackground(level);
+            if (background == null) background = BackgroundLayers.forLevel(level);
+        }
+        return background;
+    }
+
+    /** เรียกจาก game thread (หรือ constructor ก่อน thread เริ่ม) เท่านั้น */
+    private void publishSnapshot(long leftoverNanos) {
+        RenderSnapshot s = snapshots.back();
+        sim.writeSnapshot(s);
+        s.leftoverNanos = leftoverNanos;
+        s.frozen = paused || sim.isFinished();
+        s.inputNanos = pendingInputNanos;
+        pendingInputNanos = 0;
+        snapshots.publish();
+        gameOver = sim.isGameOver();
+    }
+
+    private void addBackButton() {
+        backButton = new JButton("Back to Menu");
+        backButton.setFont(new Font("SansSerif", Font.BOLD, 14));
+        backButton.setBackground(new Color(45, 45, 45));
+        backButton.setForeground(Color.WHITE);
+        backButton.setFocusable(false);
+        backButton.setBorder(BorderFactory.createEmptyBorder(4,10,4,10));
+
+        positionBackButton();
+        addComponentListener(new ComponentAdapter() {
+            @Override public void componentResized(ComponentEvent e) {
+                positionBackButton();
+                if (canvas != null) canvas.setBounds(0, 0, getWidth(), getHeight());
+                wakeLoop();
+            }
+        });
+
+        backButton.addActionListener(ev -> backToMenu());
+
+        add(backButton);
+    }
+
+    private void backToMenu() {
+        if (closed) return; // กันกดซ้ำ (เช่นคลิกระหว่างเดโมกำลังจะกลับเมนูเอง)
+        JFrame top = (JFrame) SwingUtilities.getWindowAncestor(this);
+        if (top != null) {
+            top.setContentPane(new MainMenu(top));
+            top.revalidate();
+            top.repaint();
+        }
+        stopGameLoop();
+    }
+
+    private void positionBackButton() {
+        int margin = 12;
+        int w = 150, h = 32;
+        int x = Math.max(margin, getWidth() - w - margin);
+        int y = margin;
+        backButton.setBounds(x, y, w, h);
+        backButton.setVisible(getWidth() >= w + margin && getHeight() >= h + margin);
+    }
+
+    private void startGameLoop60() {
+        if (running) return;
+        running = true;
+        gameThread = new Thread(() -> {
+            long lastTime    = System.nanoTime();
+            long accumulator = 0;
+            startRecording();
+            while (running) {
+                GameEvents.Frame frameEvent = GameEvents.beginFrame();
+                long now = System.nanoTime();
+                accumulator += now - lastTime;
+                lastTime = now;
+
+                if (restartRequested) {
+                    restartRequested = false;
+                    sim.reset();
+                    startRecording();
+                    paused = false;
+                }
+
+                // fixed timestep: เดิน simulation ทีละ TICK_NANOS ตามเวลาจริงที่ผ่านไป
+                boolean live = !paused && !sim.isFinished();
+                long tickStart = now - accumulator;
+                int steps = 0;
+                while (accumulator >= GameSimulation.TICK_NANOS && steps < MAX_CATCH_UP_STEPS) {
+                    // input ที่เกิดก่อนจบช่วงเวลาของ tick นี้ถูก apply ก่อน step
+                    drainInputs(tickStart + (steps + 1) * GameSimulation.TICK_NANOS, live);
+                    if (live) {
+                        if (bot != null) bot.drive(sim);
+                        sim.step();
+                    }
+                    accumulator -= GameSimulation.TICK_NANOS;
+                    steps++;
+                }
+                if (recorder != null && sim.isFinished()) finishRecording();
+                if (bot != null && sim.isFinished() && !attractEnding) endAttract();
+                // ตามไม่ทันจริง ๆ: ทิ้งเวลาที่เกินแทนที่จะสะสมไปเรื่อย ๆ
+                if (accumulator >= GameSimulation.TICK_NANOS) accumulator %= GameSimulation.TICK_NANOS;
+                long simEnd = System.nanoTime();
+
+                publishSnapshot(accumulator);
+                long paintNanos;
+                if (canvas != null) {
+                    long paintStart = System.nanoTime();
+                    if (canvas.renderAndShow(frameRenderer)) {
+                        profiler.lap(FrameProfiler.PRESENT, renderEndNanos);
+                        recordPresent();
+                    }
+                    paintNanos = System.nanoTime() - paintStart;
+                } else {
+                    repaint();
+                    paintNanos = lastPaintNanos; // passive: วาดบน EDT, ใช้เวลาของเฟรมล่าสุด
+                }
+                GameEvents.endFrame(frameEvent, sim.getTick(), steps, simEnd - now, paintNanos);
+                profiler.sampleRuntime(System.nanoTime());
+
+                if (isIdle()) {
+                    // ไม่มีอะไรขยับ: เฟรมนี้วาด overlay ไปแล้ว รอจนมี event (ปุ่ม, resize, คืนหน้าต่าง)
+                    idleWait();
+                    lastTime = System.nanoTime();
+                    accumulator = 0;
+                    scheduler.reset();
+                    continue;
+                }
+                FrameScheduler s = scheduler;
+                long late = s.awaitNextFrame();
+                if (late > 0) GameEvents.loopOverrun(late, s.getFramePeriodNanos());
+            }
+            finishRecording();
+            if (PRINT_STATS) {
+                System.out.println(keyToSim);
+                System.out.println(keyToPresent);
+            }
+        }, "GameLoop-60fps");
+        gameThread.setDaemon(true);
+        gameThread.start();
+    }
+
+    /**
+     * Applies queued input events stamped before {@code deadlineNanos}. While the game is not running
+     * (paused or finished) only key releases are applied, so a held direction cannot get stuck.
+     */
+    private void drainInputs(long deadlineNanos, boolean live) {
+        long now = System.nanoTime();
+        while (inputs.peekNanos() < deadlineNanos && inputs.poll()) {
+            int code = inputs.polledCode();
+            if (!live && code != InputQueue.LEFT_UP && code != InputQueue.RIGHT_UP) continue;
+            long t = inputs.polledNanos();
+            sim.applyInput(code);
+            keyToSim.record(now - t);
+            if (pendingInputNanos == 0) pendingInputNanos = t;
+        }
+    }
+
+    /** เดโมจบ (ชนะหรือตาย): ค้างหน้าจบไว้สักพักแล้วกลับเมนู */
+    private void endAttract() {
+        attractEnding = true;
+        SwingUtilities.invokeLater(() -> {
+            Timer t = new Timer(ATTRACT_END_HOLD_MILLIS, e -> backToMenu());
+            t.setRepeats(false);
+            t.start();
+        });
+    }
+
+    /** เริ่มบันทึกรอบใหม่ตั้งแต่ tick แรก (game thread, หลัง sim.reset) ถ้าเปิดการบันทึกไว้ */
+    private void startRecording() {
+        finishRecording();
+        if (REPLAY_DIR == null || bot != null) return; // ไม่บันทึกเดโม
+        recorder = ReplayRecorder.create(Paths.get(REPLAY_DIR), level, sim.getSeed());
+        sim.setRecorder(recorder);
+    }
+
+    private void finishRecording() {
+        if (recorder == null) return;
+        recorder.finish(sim);
+        sim.setRecorder(null);
+        if (PRINT_STATS) System.out.println("replay: " + recorder.getPath() + " (" + recorder.getTicks() + " ticks)");
+        recorder = null;
+    }
+
+    /** เรียกหลังเฟรมขึ้นจอแล้ว: บันทึก key-to-present ของ input ใหม่ในเฟรมนั้นครั้งเดียว */
+    private void recordPresent() {
+        if (launchNanos != 0 && firstFrameNanos == 0) {
+            firstFrameNanos = System.nanoTime() - launchNanos;
+            profiler.setFirstFrameNanos(firstFrameNanos);
+            if (PRINT_STATS) System.out.printf("menu->first frame: %.2fms%n", firstFrameNanos / 1e6);
+        }
+        long t = renderedInputNanos;
+        if (t != 0 && t != lastPresentedInputNanos) {
+            lastPresentedInputNanos = t;
+            keyToPresent.record(System.nanoTime() - t);
+        }
+    }
+
+    private void stopGameLoop() {
+        closed = true;
+        running = false;
+        wakeLoop();
+        if (gameThread != null) gameThread.interrupt();
+    }
+
+    /** ปลุก loop เมื่อ panel เริ่มแสดง/ถูกซ่อน และเมื่อหน้าต่างถูกย่อ/คืน */
+    private void addIdleWakeListeners() {
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) == 0) return;
+            Window w = SwingUtilities.getWindowAncestor(this);
+            if (w != listenedWindow) {
+                // ถอดจากหน้าต่างเดิม (เช่นกลับเมนู) เพื่อไม่ให้หน้าต่างถือ panel นี้ค้างไว้
+                if (listenedWindow != null) listenedWindow.removeWindowStateListener(onWindowState);
+                if (w != null) w.addWindowStateListener(onWindowState);
+                listenedWindow = w;
+            }
+            wakeLoop();
+        });
+    }
+
+    /** ไม่มีอะไรต้องขยับ: หยุดชั่วคราว, จบเกม, หรือหน้าต่างถูกย่อ/ยังไม่แสดง */
+    private boolean isIdle() {
+        if (paused || sim.isFinished() || !isShowing()) return true;
+        Window w = SwingUtilities.getWindowAncestor(this);
+        return w instanceof Frame && (((Frame) w).getExtendedState() & Frame.ICONIFIED) != 0;
+    }
+
+    private void idleWait() {
+        synchronized (idleLock) {
+            if (!wakeRequested) {
+                try { idleLock.wait(IDLE_POLL_MILLIS); } catch (InterruptedException ignored) {}
+            }
+            wakeRequested = false;
+        }
+    }
+
+    /** ปลุก game loop ที่ idle อยู่ (เรียกได้จากทุก thread) */
+    private void wakeLoop() {
+        synchronized (idleLock) {
+            wakeRequested = true;
+            idleLock.notifyAll();
+        }
+    }
+
+    /** เปลี่ยนวิธีรอระหว่างเฟรม (เช่น {@link FrameScheduler#forFps}) ขณะเกมรันอยู่ได้ */
+    public void setFrameScheduler(FrameScheduler scheduler) {
+        this.scheduler = scheduler;
+        scheduler.reset();
+    }
+
+    public FrameScheduler getFrameScheduler() { return scheduler; }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (!assetsReady.isDone()) {
+            drawLoading(g);
+            return;
+        }
+        if (canvas != null) return; // active mode: game thread วาดเองลง canvas
+        long paintStart = System.nanoTime();
+        Graphics2D g2 = (Graphics2D) g.create();
+        renderFrame(g2, getWidth(), getHeight());
+        Toolkit.getDefaultToolkit().sync();
+        g2.dispose();
+        lastPaintNanos = profiler.lap(FrameProfiler.PRESENT, renderEndNanos) - paintStart;
+        recordPresent();
+    }
+
+    /**
+     * วาดทั้งฉากจาก snapshot ล่าสุดลง backbuffer ขนาด logical x render scale แล้วขยายลง g2 (หน้าต่าง w x h)
+     * ครั้งเดียว โดยคงสัดส่วนและเติมขอบดำ (ใช้ทั้ง passive paintComponent และ active canvas)
+     */
+    private void renderFrame(Graphics2D g2, int w, int h) {
+        double scale = renderScale;
+        int bw = (int) Math.round(LOGICAL_WIDTH * scale), bh = (int) Math.round(LOGICAL_HEIGHT * scale);
+        Image backbuffer = backbuffer(g2.getDeviceConfiguration(), bw, bh);
+        Graphics2D bg = (Graphics2D) backbuffer.getGraphics();
+        RenderSnapshot snap;
+        try {
+            snap = renderScene(bg, bw, bh);
+        } finally {
+            bg.dispose();
+        }
+
+        double fit = Math.min(w / (double) LOGICAL_WIDTH, h / (double) LOGICAL_HEIGHT);
+        int dw = (int) Math.round(LOGICAL_WIDTH * fit), dh = (int) Math.round(LOGICAL_HEIGHT * fit);
+        int dx = (w - dw) / 2, dy = (h - dh) / 2;
+        g2.setColor(Color.BLACK);
+        if (dx > 0) { g2.fillRect(0, 0, dx, h); g2.fillRect(dx + dw, 0, w - dx - dw, h); }
+        if (dy > 0) { g2.fillRect(0, 0, w, dy); g2.fillRect(0, dy + dh, w, h - dy - dh); }
+        g2.drawImage(backbuffer, dx, dy, dw, dh, null);
+
+        // overlay ของ profiler วาดที่ขนาดหน้าต่างจริงให้อ่านออกทุก render scale
+        if (showProfiler) profiler.drawOverlay(g2, 12, h - 12, snap);
+    }
+
+    /**
+     * backbuffer ขนาด bw x bh ที่ใช้ได้กับ gc; วาดใหม่ทั้งภาพทุกเฟรมอยู่แล้ว จึงไม่ต้องกู้ contents ที่หาย
+     * (ถ้าหายระหว่างเฟรม อย่างมากเห็นภาพเสียหนึ่งเฟรม)
+     */
+    private Image backbuffer(GraphicsConfiguration gc, int bw, int bh) {
+        if (gc.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) {
+            if (softBackbuffer == null || softBackbuffer.getWidth() != bw || softBackbuffer.getHeight() != bh) {
+                softBackbuffer = gc.createCompatibleImage(bw, bh);
+            }
+            return softBackbuffer;
+        }
+        VolatileImage vi = accelBackbuffer;
+        if (vi == null || vi.getWidth() != bw || vi.getHeight() != bh
+                || vi.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (vi != null) vi.flush();
+            vi = accelBackbuffer = gc.createCompatibleVolatileImage(bw, bh);
+        }
+        return vi;
+    }
+
+    /**
+     * วาดฉากทั้งหมดลง backbuffer ขนาด bw x bh; คืน snapshot ที่ใช้วาด. พื้นหลังกับ entity วาดที่ความละเอียด
+     * ของ backbuffer เลยโดยไม่มี transform (sprite/frame ถูก cache ไว้ที่ขนาด pixel จริง) ส่วน HUD เป็นตัวอักษร
+     * กับ shape ที่ rasterize ตามขนาดปลายทางอยู่แล้ว จึงวาดในพิกัด logical ใต้ scale
+     */
+    private RenderSnapshot renderScene(Graphics2D g2, int bw, int bh) {
+        final int w = LOGICAL_WIDTH, h = LOGICAL_HEIGHT;
+        final double scale = bw / (double) w;
+        long t = System.nanoTime();
+        profiler.notePainterThread();
+        RenderSnapshot snap = snapshots.acquire();
+        double alpha = snap.alpha(t);
+        if (snap.getInputNanos() != 0) renderedInputNanos = snap.getInputNanos();
+        BackgroundLayers layers = background();
+        if (layers != null) layers.draw(g2, bw, bh, scale, snap.getScrollX(alpha));
+        t = profiler.lap(FrameProfiler.BACKGROUND, t);
+
+        drawEntities(g2, snap, alpha, scale, bw, bh);
+        t = profiler.lap(FrameProfiler.ENTITIES, t);
+
+        g2.scale(scale, bh / (double) h);
+
+        g2.setColor(level == Level.EARTH ? Color.BLACK : Color.WHITE);
+        g2.setFont(new Font("SansSerif", Font.BOLD, 18));
+        int hudX = 12, hudY = 24, hudGap = 22;
+        g2.drawString("Score: " + snap.getScore(), hudX, hudY);
+        g2.drawString("Speed: " + snap.getGameSpeed(), hudX, hudY + hudGap);
+        g2.drawString("Mode: " + level, hudX, hudY + hudGap * 2);
+        drawHeartsLeft(g2, hudX, hudY + hudGap * 3 + 8, snap);
+
+        if (paused && !snap.isGameOver()) drawPauseOverlay(g2);
+        if (snap.isGameOver())            drawGameOverOverlay(g2);
+        if (snap.isWon())                 drawWinOverlay(g2);
+        if (bot != null)                  drawAttractBanner(g2, w, h);
+        renderEndNanos = profiler.lap(FrameProfiler.HUD, t);
+        return snap;
+    }
+
+    /**
+     * วาด entity ทุกชนิดและผู้เล่นจาก snapshot ลง g2 ที่ไม่มี transform ขนาด w x h pixel; scale = pixel ต่อหนึ่ง
+     * หน่วย logical (ใช้ทั้งตอนเล่นจริงและตอน warm-up)
+     */
+    static void drawEntities(Graphics2D g2, RenderSnapshot snap, double alpha, double scale, int w, int h) {
+        RenderSnapshot.Layer layer = snap.getObstacles();
+        for (int i = 0; i < layer.size(); i++) EntityRenderer.drawObstacle(g2, layer, i, alpha, scale);
+        layer = snap.getRocks();
+        for (int i = 0; i < layer.size(); i++) EntityRenderer.drawRock(g2, layer, i, alpha, scale);
+        EntityRenderer.drawMeteors(g2, snap.getMeteors(), alpha, scale, w, h);
+        layer = snap.getUfos();
+        for (int i = 0; i < layer.size(); i++) EntityRenderer.drawUfo(g2, layer, i, alpha, scale);
+        layer = snap.getCoins();
+        for (int i = 0; i < layer.size(); i++) EntityRenderer.drawCoin(g2, layer, i, alpha, scale);
+
+        boolean invincible = snap.isInvincible();
+        if (invincible) g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.6f));
+        EntityRenderer.drawPlayer(g2, snap, alpha, scale);
+        if (invincible) g2.setComposite(AlphaComposite.SrcOver);
+        ParticleRenderer.drawAll(g2, snap.getParticles(), alpha, scale, w, h);
+    }
+
+    /** ระหว่างรอ asset ของด่าน (เข้าด่านก่อนที่เมนูจะ preload เสร็จ) */
+    private void drawLoading(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setColor(level == Level.EARTH ? Color.BLACK : Color.WHITE);
+        g2.setFont(new Font("SansSerif", Font.BOLD, 24));
+        String text = "Loading...";
+        int tw = g2.getFontMetrics().stringWidth(text);
+        g2.drawString(text, (getWidth() - tw) / 2, getHeight() / 2);
+        g2.dispose();
+    }
+
+    private void drawAttractBanner(Graphics2D g2, int w, int h) {
+        g2.setFont(new Font("SansSerif", Font.BOLD, 20));
+        String text = "DEMO - press any key";
+        int tw = g2.getFontMetrics().stringWidth(text);
+        // กะพริบช้า ๆ ตามเวลาจริง (ไม่ผูกกับ tick)
+        if ((System.nanoTime() / 600_000_000L) % 2 == 0) {
+            g2.setColor(new Color(0, 0, 0, 140));
+            g2.fillRoundRect((w - tw) / 2 - 12, h - 56, tw + 24, 32, 12, 12);
+            g2.setColor(Color.WHITE);
+            g2.drawString(text, (w - tw) / 2, h - 33);
+        }
+    }
+
+    private void drawHeartsLeft(Graphics g, int xLeft, int topY, RenderSnapshot snap) {
+        int heartSize = 28, gap = 8;
+        for (int i = 0; i < snap.getMaxHp(); i++) {
+            drawHeart(g, xLeft + i * (heartSize + gap), topY, heartSize, i < snap.getHp());
+        }
+    }
+
+    private void drawHeart(Graphics g, int x, int y, int size, boolean filled) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int w = size, h = size, topX = x + w/2, topY = y + h/5;
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(topX, topY);
+        path.curveTo(x, y, x, y + h/2, topX, y + h);
+        path.curveTo(x + w, y + h/2, x + w, y, topX, topY);
+        g2.setColor(new Color(220, 20, 60));
+        if (filled) g2.fill(path); else { g2.setStroke(new BasicStroke(2f)); g2.draw(path); }
+        g2.dispose();
+    }
+
+    private void drawPauseOverlay(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setColor(new Color(0, 0, 0, 140));
+        g2.fillRect(0, 0, LOGICAL_WIDTH, LOGICAL_HEIGHT);
+        g2.setColor(Color.WHITE);
+        g2.setFont(new Font("SansSerif", Font.BOLD, 36));
+        String text = "PAUSED";
+        int tw = g2.getFontMetrics().stringWidth(text);
+        g2.drawString(text, (LOGICAL_WIDTH - tw) / 2, 220);
+        g2.setFont(new Font("SansSerif", Font.PLAIN, 18));
+        String tip = "Press P to Resume";
+        int tw2 = g2.getFontMetrics().stringWidth(tip);
+        g2.drawString(tip, (LOGICAL_WIDTH - tw2) / 2, 260);
+        g2.dispose();
+    }
+
+    private void drawGameOverOverlay(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setColor(new Color(0, 0, 0, 160));
+        g2.fillRect(0, 0, LOGICAL_WIDTH, LOGICAL_HEIGHT);
+        g2.setColor(Color.WHITE);
+        g2.setFont(new Font("SansSerif", Font.BOLD, 36));
+        String text = "GAME OVER";
+        int tw = g2.getFontMetrics().stringWidth(text);
+        g2.drawString(text, (LOGICAL_WIDTH - tw) / 2, 220);
+        g2.setFont(new Font("SansSerif", Font.PLAIN, 18));
+        String tip = "Press R to Restart";
+        int tw2 = g2.getFontMetrics().stringWidth(tip);
+        g2.drawString(tip, (LOGICAL_WIDTH - tw2) / 2, 260);
+        g2.dispose();
+    }
+
+    @Override public void keyTyped(KeyEvent e) {}
+    @Override
+    public void keyPressed(KeyEvent e) {
+        int k = e.getKeyCode();
+        wakeLoop(); // ถ้า idle อยู่ ให้วาดเฟรมใหม่ (pause/restart/overlay เปลี่ยน)
+        if (bot != null) { backToMenu(); return; }
+        if (k == KeyEvent.VK_F3) {
+            showProfiler = !showProfiler;
+            return;
+        }
+        if (k == KeyEvent.VK_F4) {
+            cycleRenderScale();
+            return;
+        }
+        if (!gameOver) {
+            if (k == KeyEvent.VK_P) { paused = !paused; return; }
+            if (!paused) {
+                long when = System.nanoTime();
+                if (k == KeyEvent.VK_A || k == KeyEvent.VK_LEFT)  inputs.offer(InputQueue.LEFT_DOWN, when);
+                if (k == KeyEvent.VK_D || k == KeyEvent.VK_RIGHT) inputs.offer(InputQueue.RIGHT_DOWN, when);
+                if (k == KeyEvent.VK_SPACE || k == KeyEvent.VK_W || k == KeyEvent.VK_UP) inputs.offer(InputQueue.JUMP, when);
+            }
+        } else if (k == KeyEvent.VK_R) {
+            restartRequested = true; // ให้ game thread reset เองระหว่าง tick
+        }
+
+        if (k == KeyEvent.VK_ESCAPE) {
+            JFrame top = (JFrame) SwingUtilities.getWindowAncestor(this);
+            if (top != null) top.dispose();
+            stopGameLoop();
+        }
+    }
+    @Override
+    public void keyReleased(KeyEvent e) {
+        int k = e.getKeyCode();
+        long when = System.nanoTime();
+        if (k == KeyEvent.VK_A || k == KeyEvent.VK_LEFT)  inputs.offer(InputQueue.LEFT_UP, when);
+        if (k == KeyEvent.VK_D || k == KeyEvent.VK_RIGHT) inputs.offer(InputQueue.RIGHT_UP, when);
+    }
+
+    /** MainMenu บอกเวลาที่ผู้เล่นกดเลือกด่าน เพื่อวัด menu-to-first-frame */
+    void setLaunchNanos(long clickedNanos) { this.launchNanos = clickedNanos; }
+
+    /** menu-to-first-frame (nanos), 0 ถ้ายังไม่มีเฟรมแรก */
+    public long getFirstFrameNanos() { return firstFrameNanos; }
+
+    public LatencyHistogram getKeyToSimLatency() { return keyToSim; }
+    public LatencyHistogram getKeyToPresentLatency() { return keyToPresent; }
+
+    public FrameProfiler getProfiler() { return profiler; }
+
+    /** Render scale of the backbuffer, clamped to {@link #MIN_RENDER_SCALE}..{@link #MAX_RENDER_SCALE}. */
+    public void setRenderScale(double scale) {
+        renderScale = clampRenderScale(scale);
+        wakeLoop();
+    }
+
+    public double getRenderScale() { return renderScale; }
+
+    /** render scale ตอนเริ่มเกม (ค่าจาก -Dfluffyjump.renderScale) */
+    static double defaultRenderScale() { return RENDER_SCALE_DEFAULT; }
+
+    /** ค่าถัดไปใน RENDER_SCALE_STEPS (วนกลับไปค่าแรก) */
+    private void cycleRenderScale() {
+        double current = renderScale;
+        for (double step : RENDER_SCALE_STEPS) {
+            if (step > current + 1e-9) {
+                setRenderScale(step);
+                return;
+            }
+        }
+        setRenderScale(RENDER_SCALE_STEPS[0]);
+    }
+
+    private static double clampRenderScale(double scale) {
+        if (Double.isNaN(scale)) return 1.0;
+        return Math.max(MIN_RENDER_SCALE, Math.min(MAX_RENDER_SCALE, scale));
+    }
+
+    private static double renderScaleProperty() {
+        String value = System.getProperty("fluffyjump.renderScale");
+        if (value == null) return 1.0;
+        try {
+            return clampRenderScale(Double.parseDouble(value));
+        } catch (NumberFormatException e) {
+            return 1.0;
+        }
+    }
+
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            JFrame f = new JFrame("RunnerGame - Resizable");
+            f.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            RunnerGame game = new RunnerGame(Level.EARTH);
+            f.setContentPane(game);
+            f.setResizable(true);
+            f.setSize(1000, 700);    // ✅ ใช้ setSize แทน pack
+            f.setLocationRelativeTo(null);
+            f.setVisible(true);
+            game.requestFocusInWindow();
+        });
+    }
+}
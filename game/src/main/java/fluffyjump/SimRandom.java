@@ -0,0 +1,34 @@
+package fluffyjump;
+
+import java.util.Random;
+
+/**
+ * {@link Random} with the same 48-bit generator (so a given seed yields exactly the same numbers as
+ * {@code new Random(seed)}) whose state is a plain field instead of an {@code AtomicLong}, so drawing a number
+ * costs no CAS. The simulation reseeds its instance from the spawn schedule before every spawn, so a clone
+ * made by {@link GameSimulation#copyFrom} has no random state to carry over.
+ * Not thread-safe, unlike {@code Random}: each owner only touches its own from one thread.
+ */
+public final class SimRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // ห้ามมีค่าเริ่มต้น: constructor ของ Random เรียก setSeed ก่อน field ของ class นี้ถูก init
+
+    public SimRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
@@ -0,0 +1,39 @@
+package fluffyjump;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer between one producer (the simulation thread) and one consumer (the renderer).
+ * The producer always owns a back buffer to fill, the consumer always owns a front buffer to read, and
+ * the third sits in the middle slot; publishing and acquiring are a single atomic swap each, so neither
+ * side ever waits for the other. The consumer gets the newest published snapshot, older ones are simply
+ * overwritten.
+ */
+public class SnapshotExchange {
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final RenderSnapshot[] buffers = {
+        new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;   // producer only
+    private int front = 2;  // consumer only
+
+    /** Snapshot the producer should fill next. */
+    public RenderSnapshot back() { return buffers[back]; }
+
+    /** Hands the filled back buffer over and takes the middle one as the new back buffer. */
+    public void publish() {
+        buffers[back].publishedNanos = System.nanoTime();
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /** Newest published snapshot (or the one already being shown if nothing new arrived). */
+    public RenderSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
@@ -0,0 +1,281 @@
+package fluffyjump;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid broad phase over an {@link EntityStore}, maintained incrementally. Every store slot sits in
+ * the cell of its centre, on a doubly linked list threaded through int arrays. Entities move in straight
+ * lines ({@link EntityStore#integrate}), so when a slot is placed the grid works out the earliest tick its
+ * centre could reach the edge of its cell and does not look at it again until then; {@link #advance} walks
+ * one int per slot and re-places only the slots that are due (plus the ones spawned since), in slot order.
+ * A falling meteor is re-placed only around the tick it crosses into the next cell (every twenty-odd ticks
+ * with 128-pixel cells) instead of every tick, and a query visits only the cells it overlaps (widened by
+ * the largest radius seen).
+ *
+ * <p>The owner mirrors the store: {@link #removeAt} right before every {@link EntityStore#removeAt}, and
+ * {@link #advance} once after every integrate step. A store changed any other way needs {@link #rebuild}.
+ * Everything is preallocated; the arrays only grow with the store or the play area.
+ */
+public class SpatialGrid {
+    private static final int MAX_WAIT = 64; // นัดได้ไกลสุดเท่านี้ tick; ตัวที่ไม่ขยับก็ถูกตรวจซ้ำเป็นระยะ
+    private static final double EPSILON = 1e-6; // tick
+
+    private final int cellSize;
+    private final double invCell;
+    private int cols, rows;
+    private double originX, originY;
+
+    private int[] cellHead = new int[0];  // slot แรกของแต่ละ cell (-1 = ว่าง)
+    private int[] next = new int[0];      // slot ถัดไป/ก่อนหน้าใน cell เดียวกัน (-1 = ไม่มี)
+    private int[] prev = new int[0];
+    private int[] cellOf = new int[0];    // cell ที่ slot อยู่ (-1 = ยังไม่ได้วาง รอ advance)
+    private int[] due = new int[0];       // tick ที่ต้องตรวจ cell ของ slot ใหม่ (เทียบแบบ due - now <= 0)
+    private int now = 0;
+
+    private int known = 0;                // slot [0, known) มี cellOf/due ที่ใช้ได้ (วางแล้วหรือรอวาง)
+    private double maxHalf = 0;           // รัศมีใหญ่สุดที่เคยเห็น: ขยายกรอบ query เพราะเก็บตามจุดศูนย์กลาง
+
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+        this.invCell = 1.0 / cellSize;
+    }
+
+    /** ตั้งพื้นที่ที่ grid ครอบ (entity ที่อยู่นอกพื้นที่นับเข้า cell ขอบ); ล้าง grid ทั้งหมด */
+    public void setBounds(double x, double y, int width, int height) {
+        originX = x;
+        originY = y;
+        cols = Math.max(1, (width + cellSize - 1) / cellSize);
+        rows = Math.max(1, (height + cellSize - 1) / cellSize);
+        if (cellHead.length < cols * rows) cellHead = new int[cols * rows];
+        clear();
+    }
+
+    /**
+     * ล้าง grid: ใช้คู่กับ {@link EntityStore#clear}; ถ้า store ยังมี entity อยู่ advance ครั้งถัดไป
+     * จะวางทุกตัวใหม่
+     */
+    public void clear() {
+        Arrays.fill(cellHead, 0, cols * rows, -1);
+        known = 0;
+    }
+
+    /** วางทุก entity ของ s ใหม่หมดตามตำแหน่งตอนนี้ (store ที่ถูกเปลี่ยนโดยไม่ผ่าน removeAt/advance) */
+    public void rebuild(EntityStore s) {
+        clear();
+        markNew(s);
+        for (int i = 0; i < known; i++) place(s, i);
+    }
+
+    /** ให้ grid นี้เหมือน o ทุกประการ (ใช้คู่กับ {@link EntityStore#copyFrom}) */
+    public void copyFrom(SpatialGrid o) {
+        if (o.cellSize != cellSize) throw new IllegalArgumentException("cell size " + o.cellSize + " != " + cellSize);
+        originX = o.originX;
+        originY = o.originY;
+        cols = o.cols;
+        rows = o.rows;
+        if (cellHead.length < cols * rows) cellHead = new int[cols * rows];
+        System.arraycopy(o.cellHead, 0, cellHead, 0, cols * rows);
+        int n = o.known;
+        ensureSlots(n);
+        System.arraycopy(o.next, 0, next, 0, n);
+        System.arraycopy(o.prev, 0, prev, 0, n);
+        System.arraycopy(o.cellOf, 0, cellOf, 0, n);
+        System.arraycopy(o.due, 0, due, 0, n);
+        known = n;
+        now = o.now;
+        maxHalf = o.maxHalf;
+    }
+
+    /**
+     * เรียกก่อน {@code s.removeAt(i)} ทุกครั้ง: ทำแบบเดียวกับ swap-remove ของ store
+     * (slot สุดท้ายย้ายมาอยู่ที่ i พร้อม cell และเวลานัดตรวจของมัน)
+     */
+    public void removeAt(EntityStore s, int i) {
+        markNew(s);
+        int last = s.count - 1;
+        if (cellOf[i] >= 0) unlinkCell(i);
+        if (i != last) {
+            int c = cellOf[last];
+            if (c >= 0) {
+                unlinkCell(last);
+                linkCell(i, c);
+            } else {
+                cellOf[i] = -1;
+            }
+            due[i] = due[last];
+        }
+        known = last;
+    }
+
+    /**
+     * One tick after {@link EntityStore#integrate}: re-checks the slots whose cell may have changed by now and
+     * places the ones spawned since the last call. Must be called exactly once per integrate step, since
+     * every due tick counts one step of motion per call.
+     */
+    public void advance(EntityStore s) {
+        markNew(s);
+        int t = ++now;
+        final int[] due = this.due;
+        for (int i = 0, n = known; i < n; i++) {
+            if (due[i] - t <= 0) place(s, i); // ไล่ตามลำดับ slot: อ่าน store เรียงกันไป ไม่กระโดด
+        }
+    }
+
+    /**
+     * เก็บ slot ที่ bounding box อาจทับกับกล่อง [x, x+w) x [y, y+h) ลง out แล้วคืนจำนวนที่ได้
+     * (ไม่เกิน out.length); ต้องตรวจ narrow phase ต่อเอง
+     */
+    public int query(double x, double y, double w, double h, int[] out) {
+        int found = 0;
+        int cx0 = cellX(x - maxHalf), cx1 = cellX(x + w + maxHalf);
+        int cy0 = cellY(y - maxHalf), cy1 = cellY(y + h + maxHalf);
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                for (int e = cellHead[cy * cols + cx]; e >= 0; e = next[e]) {
+                    if (found == out.length) return found;
+                    out[found++] = e;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * ชนวงกลม (cx, cy, r) กับ entity ใดก็ได้ใน s ไหม: ผลเหมือน {@code s.firstCircleHit(cx, cy, r) >= 0}
+     * (narrow phase เดียวกัน {@link EntityStore#circleHits}) แต่ดูแค่ cell รอบ ๆ
+     */
+    public boolean anyCircleHit(EntityStore s, double cx, double cy, double r) {
+        double reach = r + maxHalf;
+        int cx0 = cellX(cx - reach), cx1 = cellX(cx + reach);
+        int cy0 = cellY(cy - reach), cy1 = cellY(cy + reach);
+        for (int gy = cy0; gy <= cy1; gy++) {
+            for (int gx = cx0; gx <= cx1; gx++) {
+                for (int e = cellHead[gy * cols + gx]; e >= 0; e = next[e]) {
+                    if (s.circleHits(e, cx, cy, r)) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Entity-vs-entity broad phase: writes every pair of slots (a &lt; b) whose bounding boxes overlap or
+     * touch into outA/outB and returns the pair count (at most the shorter array's length). Each cell is
+     * paired with itself and with the neighbours after it within two radii, so every pair is reported exactly
+     * once. The narrow phase (e.g. {@link Collision#collideCircle}) is up to the caller.
+     */
+    public int queryPairs(EntityStore s, int[] outA, int[] outB) {
+        final double[] x = s.x, y = s.y;
+        final int[] size = s.size;
+        int limit = Math.min(outA.length, outB.length);
+        int reach = (int) Math.ceil(2 * maxHalf * invCell);
+        int found = 0;
+        for (int cy = 0; cy < rows; cy++) {
+            for (int cx = 0; cx < cols; cx++) {
+                for (int a = cellHead[cy * cols + cx]; a >= 0; a = next[a]) {
+                    for (int ny = cy; ny <= Math.min(cy + reach, rows - 1); ny++) {
+                        int nx0 = ny == cy ? cx : Math.max(cx - reach, 0);
+                        for (int nx = nx0; nx <= Math.min(cx + reach, cols - 1); nx++) {
+                            // cell เดียวกัน: เริ่มจากตัวถัดไปใน list จะได้ไม่นับคู่ซ้ำ
+                            int b = ny == cy && nx == cx ? next[a] : cellHead[ny * cols + nx];
+                            for (; b >= 0; b = next[b]) {
+                                // ขอบที่แตะกันพอดีนับด้วย (วงกลมที่แตะกันพอดีถือว่าชนใน collideCircle)
+                                if (x[a] > x[b] + size[b] || x[b] > x[a] + size[a]
+                                        || y[a] > y[b] + size[b] || y[b] > y[a] + size[a]) continue;
+                                if (found == limit) return found;
+                                outA[found] = Math.min(a, b);
+                                outB[found] = Math.max(a, b);
+                                found++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /** cell ที่ slot i อยู่ใน grid ตอนนี้ (-1 = ยังไม่ได้วาง); สำหรับ test */
+    int cellOf(int i) {
+        return i < known ? cellOf[i] : -1;
+    }
+
+    /** cell ที่จุด (x, y) ตกอยู่ (หลัง clamp) */
+    int cellAt(double x, double y) {
+        return cellY(y) * cols + cellX(x);
+    }
+
+    /** slot [known, s.size()) ที่เพิ่ง spawn: รอวางตอน advance ครั้งถัดไป */
+    private void markNew(EntityStore s) {
+        int n = s.count;
+        if (known >= n) return;
+        ensureSlots(n);
+        Arrays.fill(cellOf, known, n, -1);
+        Arrays.fill(due, known, n, now);
+        known = n;
+    }
+
+    /** วาง slot i ตามตำแหน่งตอนนี้ แล้วนัดตรวจครั้งถัดไปก่อนที่จุดศูนย์กลางจะข้ามขอบ cell ได้ */
+    private void place(EntityStore s, int i) {
+        double half = s.size[i] * 0.5;
+        if (half > maxHalf) maxHalf = half;
+        // ตำแหน่งและความเร็วในหน่วย cell
+        double px = (s.x[i] + half - originX) * invCell, py = (s.y[i] + half - originY) * invCell;
+        int cx = clamp(px, cols), cy = clamp(py, rows);
+        int c = cy * cols + cx;
+        if (cellOf[i] != c) {
+            if (cellOf[i] >= 0) unlinkCell(i);
+            linkCell(i, c);
+        }
+        double t = Math.min(ticksToEdge(px, cx, s.vx[i] * invCell, cols), ticksToEdge(py, cy, s.vy[i] * invCell, rows));
+        // ข้ามขอบที่ tick ceil(t) พอดี; หัก EPSILON ไว้เผื่อเศษทศนิยมจากการบวกสะสมใน integrate
+        // (ตรวจเร็วไปแค่ทำให้ต้องวางซ้ำอีกรอบ แต่ช้าไปแม้ tick เดียว grid จะผิด)
+        due[i] = now + (t >= MAX_WAIT ? MAX_WAIT : Math.max(1, (int) Math.ceil(t - EPSILON)));
+    }
+
+    /**
+     * จำนวน tick (ไม่ปัด) ที่ตำแหน่ง p (อยู่ใน cell c หลัง clamp เป็น 0..n-1) เคลื่อนด้วย v ต่อ tick จนเลข cell
+     * เปลี่ยน; cell ขอบครอบไปถึงนอก grid จึงออกทางด้านนอกไม่ได้
+     */
+    private static double ticksToEdge(double p, int c, double v, int n) {
+        if (v > 0) return c == n - 1 ? Double.POSITIVE_INFINITY : (c + 1 - p) / v;
+        if (v < 0) return c == 0 ? Double.POSITIVE_INFINITY : (p - c) / -v;
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private static int clamp(double v, int n) {
+        return v < 0 ? 0 : (v >= n ? n - 1 : (int) v);
+    }
+
+    private void ensureSlots(int n) {
+        if (cellOf.length >= n) return;
+        int cap = Math.max(n, cellOf.length * 2);
+        next = Arrays.copyOf(next, cap);
+        prev = Arrays.copyOf(prev, cap);
+        cellOf = Arrays.copyOf(cellOf, cap);
+        due = Arrays.copyOf(due, cap);
+    }
+
+    private void linkCell(int i, int c) {
+        int head = cellHead[c];
+        next[i] = head;
+        prev[i] = -1;
+        if (head >= 0) prev[head] = i;
+        cellHead[c] = i;
+        cellOf[i] = c;
+    }
+
+    private void unlinkCell(int i) {
+        int p = prev[i], n = next[i];
+        if (p >= 0) next[p] = n; else cellHead[cellOf[i]] = n;
+        if (n >= 0) prev[n] = p;
+    }
+
+    private int cellX(double x) {
+        return clamp((x - originX) * invCell, cols);
+    }
+
+    private int cellY(double y) {
+        return clamp((y - originY) * invCell, rows);
+    }
+}
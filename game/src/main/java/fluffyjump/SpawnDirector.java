@@ -0,0 +1,362 @@
+package fluffyjump;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides the course of one run tick by tick, from the level's spawn {@link Table}, and packs it into
+ * {@link SpawnSchedule.Chunk}s. Tables are read from {@code /spawn-tables.txt} on the classpath (or the file
+ * named by {@code -Dfluffyjump.spawns=<path>}), so the rules of a level, including a new one, live in data.
+ *
+ * <p>Each tick draws one outcome from the level's alias table (O(1) however many rows the level has): a row or
+ * "nothing", each with its per-tick chance. A drawn row spawns only if its cooldown has run out; cooldowns are
+ * stored as the tick a group is ready again, so nothing is counted down per tick. A row marked {@code ground}
+ * is held back after it is drawn until it passes the fairness check (see {@link #fairGroundHazard}). A row
+ * with a {@code count} range spawns a burst: one schedule entry whose param is how many to spawn.
+ */
+public final class SpawnDirector {
+    private static final String TABLES_RESOURCE = "/spawn-tables.txt";
+    private static final String TABLES_FILE = System.getProperty("fluffyjump.spawns");
+    private static final String[] TYPE_NAMES = { "OBSTACLE", "ROCK", "METEOR", "UFO", "COIN", "BONUS_COIN" };
+    private static final int NOTHING = -1;
+
+    // เกณฑ์ความยุติธรรม: ของบนพื้นสองชิ้นต้องถึงตัวผู้เล่นห่างกันพอให้ลงพื้นแล้วกระโดดใหม่ได้
+    // (ลอยตัวหนึ่งครั้ง ~32 tick; กระโดดสองจังหวะช่วยข้ามช่วงที่สั้นกว่านั้นได้บ้าง)
+    private static final double MIN_ARRIVAL_GAP_TICKS = 24;
+    private static final int PLAYER_X = 100;
+    private static final int NOMINAL_WIDTH = 800; // course ต้องไม่ขึ้นกับขนาดหน้าต่าง จึงตรวจที่ขนาดมาตรฐาน
+    private static final int[] CHECK_SPEEDS = { GameSimulation.SPEED_BASE, GameSimulation.SPEED_BASE + 6 };
+    private static final double ROCK_EXTRA_SPEED = 1.5; // RollingRock วิ่งเร็วกว่าพื้น 1.5 px/tick
+    private static final int RECENT_HAZARDS = 4;
+
+    /**
+     * The spawn rules of one level, one row per spawnable type, in primitive arrays indexed by row. Immutable;
+     * shared by every run of the level.
+     */
+    public static final class Table {
+        private static Map<RunnerGame.Level, Table> tables;
+
+        private final int rows;
+        private final int[] type;
+        private final int[] group;          // index ของ cooldown ที่แถวนี้ใช้
+        private final int[] cooldownMin, cooldownMax;
+        private final int[] heightMin, heightMax;   // -1 = ไม่มีความสูง
+        private final int[] countMin, countMax;     // จำนวนที่ spawn ต่อครั้ง (meteor shower)
+        private final boolean[] ground;
+        private final int[] groupFirst;     // cooldown ตอนเริ่มรอบของแต่ละ group
+        private final int[] caps = new int[TYPE_NAMES.length]; // ต่อชนิด (ไม่ใช่ต่อแถว)
+        private final int[] sizeMin = new int[TYPE_NAMES.length], sizeMax = new int[TYPE_NAMES.length]; // 0 = ขนาดปกติ
+        private final int[] groundRows;
+        // alias table: ช่อง i ได้ outcome[i] ด้วยโอกาส prob[i] ไม่งั้นได้ alias[i] (NOTHING = ไม่ spawn)
+        private final double[] prob;
+        private final int[] outcome, alias;
+
+        private Table(List<String[]> lines, List<Integer> lineNumbers, String source) {
+            rows = lines.size();
+            type = new int[rows];
+            group = new int[rows];
+            cooldownMin = new int[rows];
+            cooldownMax = new int[rows];
+            heightMin = new int[rows];
+            heightMax = new int[rows];
+            countMin = new int[rows];
+            countMax = new int[rows];
+            ground = new boolean[rows];
+            double[] chance = new double[rows];
+            Map<String, Integer> groups = new HashMap<>();
+            int[] first = new int[rows];
+            int groupCount = 0;
+            int groundCount = 0;
+            double total = 0;
+            for (int r = 0; r < rows; r++) {
+                String[] f = lines.get(r);
+                String where = source + ":" + lineNumbers.get(r);
+                type[r] = typeOf(f[1], where);
+                chance[r] = parseChance(f[2], where);
+                int[] cooldown = parseRange(f[3], where);
+                cooldownMin[r] = cooldown[0];
+                cooldownMax[r] = cooldown[1];
+                int firstCooldown = parseInt(f[4], where);
+                int cap = f[5].equals("-") ? Integer.MAX_VALUE : parseInt(f[5], where);
+                caps[type[r]] = Math.max(caps[type[r]], cap);
+                if (!f[6].equals("-")) {
+                    int[] size = parseRange(f[6], where);
+                    sizeMin[type[r]] = Math.max(1, size[0]);
+                    sizeMax[type[r]] = Math.max(1, size[1]);
+                }
+                int[] count = f[7].equals("-") ? new int[] { 1, 1 } : parseRange(f[7], where);
+                countMin[r] = Math.max(1, count[0]);
+                countMax[r] = Math.max(1, count[1]);
+                String name = f[8].equals("-") ? "#" + r : f[8];
+                Integer g = groups.get(name);
+                if (g == null) {
+                    g = groupCount++;
+                    groups.put(name, g);
+                    first[g] = firstCooldown; // group ใช้ cooldown เริ่มต้นของแถวแรก
+                }
+                group[r] = g;
+                int[] height = f[9].equals("-") ? new int[] { -1, -1 } : parseRange(f[9], where);
+                heightMin[r] = height[0];
+                heightMax[r] = height[1];
+                // param ของ spawn มีช่องเดียว: เป็นได้แค่ความสูง (เหรียญ) หรือจำนวน อย่างใดอย่างหนึ่ง
+                if (height[1] >= 0 && countMax[r] > 1) throw new IllegalStateException(where + ": row has both count and height");
+                ground[r] = f[10].equals("ground");
+                if (ground[r]) groundCount++;
+                total += chance[r];
+            }
+            if (total > 1 + 1e-9) throw new IllegalStateException(source + ": chances of a level add up to " + total);
+            groupFirst = Arrays.copyOf(first, groupCount);
+            groundRows = new int[groundCount];
+            for (int r = 0, k = 0; r < rows; r++) if (ground[r]) groundRows[k++] = r;
+
+            // outcome สุดท้ายคือ "ไม่ spawn" ด้วยโอกาสที่เหลือ: โอกาสต่อ tick ของแต่ละแถวจึงตรงกับที่เขียนไว้
+            int n = rows + 1;
+            double[] w = Arrays.copyOf(chance, n);
+            w[rows] = Math.max(0, 1 - total);
+            int[] out = new int[n];
+            for (int i = 0; i < n; i++) out[i] = i < rows ? i : NOTHING;
+            prob = new double[n];
+            outcome = out;
+            alias = new int[n];
+            buildAlias(w);
+        }
+
+        /** Vose's alias method: splits n weights into n slots of at most two outcomes each. */
+        private void buildAlias(double[] w) {
+            int n = w.length;
+            int[] small = new int[n], large = new int[n];
+            int ns = 0, nl = 0;
+            double[] p = new double[n];
+            for (int i = 0; i < n; i++) {
+                p[i] = w[i] * n; // ผลรวมของ w เป็น 1 อยู่แล้ว
+                if (p[i] < 1) small[ns++] = i; else large[nl++] = i;
+            }
+            while (ns > 0 && nl > 0) {
+                int s = small[--ns], l = large[--nl];
+                prob[s] = p[s];
+                alias[s] = outcome[l];
+                p[l] = p[l] + p[s] - 1;
+                if (p[l] < 1) small[ns++] = l; else large[nl++] = l;
+            }
+            while (nl > 0) { int l = large[--nl]; prob[l] = 1; alias[l] = outcome[l]; }
+            while (ns > 0) { int s = small[--ns]; prob[s] = 1; alias[s] = outcome[s]; } // เศษจาก floating point
+        }
+
+        /** ตารางของด่านนี้ (อ่านไฟล์ครั้งแรกที่ใช้); ไม่มีแถวของด่านนี้ถือว่าไฟล์ผิด */
+        public static synchronized Table forLevel(RunnerGame.Level level) {
+            if (tables == null) tables = load();
+            Table t = tables.get(level);
+            if (t == null) throw new IllegalStateException("no spawn table for level " + level);
+            return t;
+        }
+
+        private static Map<RunnerGame.Level, Table> load() {
+            String source = TABLES_FILE != null ? TABLES_FILE : TABLES_RESOURCE;
+            try (InputStream in = TABLES_FILE != null ? Files.newInputStream(Paths.get(TABLES_FILE))
+                    : SpawnDirector.class.getResourceAsStream(TABLES_RESOURCE)) {
+                if (in == null) throw new IllegalStateException("missing " + TABLES_RESOURCE);
+                EnumMap<RunnerGame.Level, List<String[]>> rows = new EnumMap<>(RunnerGame.Level.class);
+                EnumMap<RunnerGame.Level, List<Integer>> numbers = new EnumMap<>(RunnerGame.Level.class);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                for (int no = 1; (line = reader.readLine()) != null; no++) {
+                    int hash = line.indexOf('#');
+                    if (hash >= 0) line = line.substring(0, hash);
+                    line = line.trim();
+                    if (line.isEmpty()) continue;
+                    String[] f = line.split("\\s+");
+                    if (f.length != 11) throw new IllegalStateException(source + ":" + no + ": expected 11 columns");
+                    RunnerGame.Level level;
+                    try {
+                        level = RunnerGame.Level.valueOf(f[0]);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalStateException(source + ":" + no + ": unknown level " + f[0]);
+                    }
+                    rows.computeIfAbsent(level, k -> new ArrayList<>()).add(f);
+                    numbers.computeIfAbsent(level, k -> new ArrayList<>()).add(no);
+                }
+                EnumMap<RunnerGame.Level, Table> result = new EnumMap<>(RunnerGame.Level.class);
+                for (RunnerGame.Level level : rows.keySet()) {
+                    result.put(level, new Table(rows.get(level), numbers.get(level), source));
+                }
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException("cannot read spawn tables from " + source, e);
+            }
+        }
+
+        private static int typeOf(String name, String where) {
+            for (int i = 0; i < TYPE_NAMES.length; i++) if (TYPE_NAMES[i].equals(name)) return i;
+            throw new IllegalStateException(where + ": unknown type " + name);
+        }
+
+        private static double parseChance(String s, String where) {
+            try {
+                int slash = s.indexOf('/');
+                double v = slash < 0 ? Double.parseDouble(s)
+                        : Double.parseDouble(s.substring(0, slash)) / Double.parseDouble(s.substring(slash + 1));
+                if (!(v >= 0 && v <= 1)) throw new NumberFormatException();
+                return v;
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException(where + ": bad chance " + s);
+            }
+        }
+
+        private static int[] parseRange(String s, String where) {
+            int dash = s.indexOf('-');
+            int min = parseInt(dash < 0 ? s : s.substring(0, dash), where);
+            int max = dash < 0 ? min : parseInt(s.substring(dash + 1), where);
+            if (max < min) throw new IllegalStateException(where + ": bad range " + s);
+            return new int[] { min, max };
+        }
+
+        private static int parseInt(String s, String where) {
+            try {
+                int v = Integer.parseInt(s);
+                if (v < 0) throw new NumberFormatException();
+                return v;
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException(where + ": bad number " + s);
+            }
+        }
+
+        /** จำนวนสูงสุดบนจอของชนิดนี้ (0 = ด่านนี้ไม่มี, Integer.MAX_VALUE = ไม่จำกัด) */
+        public int getCap(int spawnType) { return caps[spawnType]; }
+        /** ช่วงขนาด (px) ของชนิดนี้ในด่านนี้; 0 = ใช้ขนาดปกติของ archetype */
+        public int getSizeMin(int spawnType) { return sizeMin[spawnType]; }
+        public int getSizeMax(int spawnType) { return sizeMax[spawnType]; }
+        public int getRows() { return rows; }
+    }
+
+    private final Table table;
+    private final SimRandom random;
+    private long nextTick = 1; // step() แรก spawn ที่ tick 1
+    private final long[] readyAt;     // ต่อ group: tick แรกที่พ้น cooldown
+    // สุ่มติดแล้วแต่ยังไม่ยุติธรรม: รอ spawn ที่ tick แรกที่ผ่านเกณฑ์ (ไม่สุ่มใหม่ จะได้ไม่ลดความถี่)
+    private final boolean[] pending;  // ต่อแถว
+    private final long[] hazardTick = new long[RECENT_HAZARDS];
+    private final int[] hazardType = new int[RECENT_HAZARDS];
+    private int hazards = 0;
+    private volatile int rejected = 0;
+
+    // buffer ที่ใช้ซ้ำระหว่างสร้าง chunk แล้วค่อยตัดให้พอดีตอน publish
+    private long[] tick = new long[32], seed = new long[32];
+    private int[] type = new int[32], param = new int[32];
+    private int n;
+
+    public SpawnDirector(RunnerGame.Level level, long seed) {
+        this.table = Table.forLevel(level);
+        this.random = new SimRandom(seed);
+        this.readyAt = new long[table.groupFirst.length];
+        for (int g = 0; g < readyAt.length; g++) readyAt[g] = table.groupFirst[g];
+        this.pending = new boolean[table.rows];
+    }
+
+    /** สร้าง chunk ถัดไปของ course ({@link SpawnSchedule#CHUNK_TICKS} tick) */
+    SpawnSchedule.Chunk next() {
+        n = 0;
+        long from = nextTick;
+        for (long t = from; t < from + SpawnSchedule.CHUNK_TICKS; t++) tick(t);
+        nextTick = from + SpawnSchedule.CHUNK_TICKS;
+        return new SpawnSchedule.Chunk(from, n, Arrays.copyOf(tick, n), Arrays.copyOf(type, n),
+                Arrays.copyOf(seed, n), Arrays.copyOf(param, n));
+    }
+
+    private void tick(long t) {
+        Table tb = table;
+        // ของบนพื้นที่ค้างรอความยุติธรรมไว้ก่อนได้สิทธิ์ก่อน (มีแค่ไม่กี่แถว)
+        for (int r : tb.groundRows) {
+            if (pending[r] && fairGroundHazard(t, tb.type[r])) {
+                pending[r] = false;
+                spawn(r, t);
+            }
+        }
+
+        double u = random.nextDouble() * tb.prob.length;
+        int slot = (int) u;
+        int r = u - slot < tb.prob[slot] ? tb.outcome[slot] : tb.alias[slot];
+        // แถวที่ยังติด cooldown เสียสิทธิ์ tick นี้ไปเลย (ไม่สุ่มใหม่): โอกาสต่อ tick ของแถวอื่นจึงไม่เปลี่ยน
+        if (r == NOTHING || pending[r] || t < readyAt[tb.group[r]]) return;
+        if (tb.ground[r]) {
+            if (!fairGroundHazard(t, tb.type[r])) {
+                pending[r] = true;
+                return;
+            }
+        }
+        spawn(r, t);
+    }
+
+    private void spawn(int r, long t) {
+        Table tb = table;
+        int param;
+        if (tb.heightMax[r] >= 0) {
+            param = GameSimulation.GROUND_Y - (tb.heightMin[r] + random.nextInt(tb.heightMax[r] - tb.heightMin[r] + 1));
+        } else {
+            // สุ่มเฉพาะเมื่อเป็นช่วงจริง ๆ: แถวที่ spawn ทีละตัวใช้ลำดับสุ่มเดิม
+            int span = tb.countMax[r] - tb.countMin[r];
+            param = tb.countMin[r] + (span > 0 ? random.nextInt(span + 1) : 0);
+        }
+        emit(t, tb.type[r], param);
+        readyAt[tb.group[r]] = t + tb.cooldownMin[r] + random.nextInt(tb.cooldownMax[r] - tb.cooldownMin[r] + 1);
+    }
+
+    /**
+     * A new cactus/rock is fair if, at every checked speed, it reaches the player at least
+     * {@link #MIN_ARRIVAL_GAP_TICKS} away from each recent ground hazard. Rocks roll faster than the ground
+     * scrolls, so a rock spawned after a cactus can catch up with it; that is the combo this rules out.
+     * An unfair one is held back a tick at a time until it fits.
+     */
+    private boolean fairGroundHazard(long t, int newType) {
+        int recent = Math.min(hazards, RECENT_HAZARDS);
+        for (int k = 0; k < recent; k++) {
+            long t0 = hazardTick[k];
+            int type0 = hazardType[k];
+            for (int speed : CHECK_SPEEDS) {
+                double distance = NOMINAL_WIDTH - PLAYER_X;
+                double a0 = t0 + distance / groundSpeed(type0, speed);
+                double a1 = t + distance / groundSpeed(newType, speed);
+                if (Math.abs(a1 - a0) < MIN_ARRIVAL_GAP_TICKS) {
+                    rejected++;
+                    return false;
+                }
+            }
+        }
+        hazardTick[hazards % RECENT_HAZARDS] = t;
+        hazardType[hazards % RECENT_HAZARDS] = newType;
+        hazards++;
+        return true;
+    }
+
+    private static double groundSpeed(int type, int speed) {
+        return type == SpawnSchedule.ROCK ? speed + ROCK_EXTRA_SPEED : speed;
+    }
+
+    private void emit(long t, int spawnType, int spawnParam) {
+        if (n == tick.length) {
+            int cap = n * 2;
+            tick = Arrays.copyOf(tick, cap);   seed = Arrays.copyOf(seed, cap);
+            type = Arrays.copyOf(type, cap);   param = Arrays.copyOf(param, cap);
+        }
+        tick[n] = t;
+        type[n] = spawnType;
+        seed[n] = random.nextLong();
+        param[n] = spawnParam;
+        n++;
+    }
+
+    public Table getTable() { return table; }
+    /** จำนวน tick ที่ cactus/rock ถูกเลื่อนออกไปเพราะไม่ผ่านเกณฑ์ความยุติธรรม (นับถึง chunk ที่สร้างแล้ว) */
+    public int getRejectedUnfair() { return rejected; }
+}
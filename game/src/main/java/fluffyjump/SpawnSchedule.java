@@ -0,0 +1,155 @@
+package fluffyjump;
+
+import java.lang.ref.WeakReference;
+import java.util.EnumMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The course of one run: every spawn, decided ahead of time from the run's seed. Spawns are generated in
+ * chunks of {@link #CHUNK_TICKS} ticks. The first chunk is made up front; production of the rest starts only
+ * when a reader first moves past it, so a schedule that is thrown away early (warm-up resets, scratch
+ * simulations, benchmarks) never queues work. From then on a background "SpawnPlanner" thread keeps up to
+ * {@link #AHEAD_CHUNKS} chunks waiting in a bounded queue per schedule. The simulation only walks a cursor
+ * over the chunks and pops the spawns whose tick has come. What spawns when is decided by a
+ * {@link SpawnDirector} from the level's spawn table, fairness check included.
+ *
+ * <p>Chunks are immutable once published and are linked in order the first time a reader walks past the
+ * end of one, so any number of cursors can read the same schedule. This is how a simulation cloned for
+ * lookahead sees the same course. The course depends only on level and seed. Caps on entities on screen,
+ * the spawn x and the sizes are applied when a spawn is popped; sizes are drawn from the spawn's own seed.
+ */
+public final class SpawnSchedule {
+    public static final int OBSTACLE = 0;
+    public static final int ROCK = 1;
+    public static final int METEOR = 2;
+    public static final int UFO = 3;
+    public static final int COIN = 4;
+    public static final int BONUS_COIN = 5;
+
+    public static final int CHUNK_TICKS = 300;  // 5 วินาทีของเกมต่อ chunk
+    private static final int AHEAD_CHUNKS = 4;  // ขนาดคิว: เตรียมไว้ล่วงหน้า ~20 วินาที
+
+    private static final ExecutorService PLANNER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "SpawnPlanner");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    /** Spawns of ticks {@code [firstTick, endTick)}, in tick order. */
+    public static final class Chunk {
+        private final long firstTick, endTick;
+        private final int size;
+        private final long[] tick;
+        private final int[] type;
+        private final long[] seed;
+        private final int[] param; // เหรียญ: y
+        private volatile Chunk next;
+
+        Chunk(long firstTick, int size, long[] tick, int[] type, long[] seed, int[] param) {
+            this.firstTick = firstTick;
+            this.endTick = firstTick + CHUNK_TICKS;
+            this.size = size;
+            this.tick = tick;
+            this.type = type;
+            this.seed = seed;
+            this.param = param;
+        }
+
+        public long getFirstTick() { return firstTick; }
+        public long getEndTick() { return endTick; }
+        public int size() { return size; }
+        public long getTick(int i) { return tick[i]; }
+        public int getType(int i) { return type[i]; }
+        public long getSeed(int i) { return seed[i]; }
+        public int getParam(int i) { return param[i]; }
+    }
+
+    // schedule ล่าสุดของแต่ละด่าน: reset ด้วย seed เดิม (เล่นซ้ำ, benchmark) ใช้ course เดิมได้เลย
+    // อ้างแบบ weak: ไม่ค้าง chunk ทั้งสายไว้หลังจากไม่มี simulation ไหนใช้ schedule นั้นแล้ว
+    private static final EnumMap<RunnerGame.Level, WeakReference<SpawnSchedule>> LATEST =
+            new EnumMap<>(RunnerGame.Level.class);
+
+    private final RunnerGame.Level level;
+    private final long runSeed;
+    private final SpawnDirector director; // PLANNER thread only (หลัง chunk ที่สอง)
+    private final ArrayBlockingQueue<Chunk> ready = new ArrayBlockingQueue<>(AHEAD_CHUNKS);
+    private final Chunk first;
+    private boolean producing; // เริ่มสั่ง planner แล้วหรือยัง (guarded by this)
+
+    /**
+     * Schedule of this level and seed, reusing the most recent one if it matches and is still in use
+     * somewhere (chunks are immutable).
+     */
+    public static SpawnSchedule of(RunnerGame.Level level, long seed) {
+        synchronized (LATEST) {
+            WeakReference<SpawnSchedule> ref = LATEST.get(level);
+            SpawnSchedule s = ref != null ? ref.get() : null;
+            if (s == null || s.runSeed != seed) {
+                s = new SpawnSchedule(level, seed);
+                LATEST.put(level, new WeakReference<>(s));
+            }
+            return s;
+        }
+    }
+
+    public SpawnSchedule(RunnerGame.Level level, long seed) {
+        this.level = level;
+        this.runSeed = seed;
+        this.director = new SpawnDirector(level, seed);
+        // chunk แรกสร้างเลยตอน reset เพื่อให้ tick แรกไม่ต้องรอ thread; ที่เหลือรอจนมีคนอ่านเลย chunk แรก
+        this.first = director.next();
+    }
+
+    private void produce() {
+        ready.add(director.next()); // ไม่เต็ม: งาน produce หนึ่งงานต่อหนึ่งช่องที่ว่าง
+    }
+
+    public Chunk first() { return first; }
+
+    /**
+     * The chunk after {@code c}. The first call makes the second chunk on the calling thread and starts the
+     * planner on the ones after it. Later chunks are normally already queued; this blocks only if a reader
+     * gets more than {@link #AHEAD_CHUNKS} chunks ahead of the planner (e.g. a headless replay running flat out).
+     */
+    public Chunk next(Chunk c) {
+        Chunk n = c.next;
+        if (n != null) return n;
+        synchronized (this) {
+            if (c.next == null) {
+                if (!producing) {
+                    // director ยังไม่เคยถูก planner ใช้: สร้างตรงนี้ได้ แล้วค่อยส่งต่อให้ planner (execute = happens-before)
+                    producing = true;
+                    c.next = director.next();
+                    for (int i = 0; i < AHEAD_CHUNKS; i++) PLANNER.execute(this::produce);
+                } else {
+                    c.next = take();
+                    PLANNER.execute(this::produce);
+                }
+            }
+            return c.next;
+        }
+    }
+
+    private Chunk take() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return ready.take();
+                } catch (InterruptedException e) {
+                    interrupted = true; // planner ส่งมาภายในไม่กี่ไมโครวินาที: รอต่อแล้วค่อยคืนสถานะ interrupt
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    public RunnerGame.Level getLevel() { return level; }
+    public long getSeed() { return runSeed; }
+    /** จำนวน tick ที่ cactus/rock ถูกเลื่อนออกไปเพราะไม่ผ่านเกณฑ์ความยุติธรรม (นับถึง chunk ที่สร้างแล้ว) */
+    public int getRejectedUnfair() { return director.getRejectedUnfair(); }
+}
@@ -0,0 +1,153 @@
+package fluffyjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of sprites pre-scaled to the sizes they are actually drawn at. Each entry holds a
+ * display-compatible {@link BufferedImage} copy and, when drawing to the screen, a {@link VolatileImage}
+ * copy that is re-rendered from the BufferedImage whenever its contents are lost. Per-frame draws then
+ * become unscaled blits instead of filtered resamples of the full source PNG.
+ *
+ * <p>Entries are evicted least-recently-used first once the estimated pixel memory exceeds the budget.
+ * Lookups reuse a probe key, so a cache hit allocates nothing.
+ */
+public class SpriteCache {
+    private static final long DEFAULT_BUDGET_BYTES = 32L * 1024 * 1024;
+    private static final SpriteCache SHARED = new SpriteCache(DEFAULT_BUDGET_BYTES);
+
+    public static SpriteCache shared() { return SHARED; }
+
+    private static final class Key {
+        Image src;
+        int w, h;
+
+        Key set(Image src, int w, int h) { this.src = src; this.w = w; this.h = h; return this; }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return k.src == src && k.w == w && k.h == h;
+        }
+        @Override public int hashCode() { return (System.identityHashCode(src) * 31 + w) * 31 + h; }
+    }
+
+    private static final class Entry {
+        final BufferedImage image;
+        VolatileImage accel;
+        Entry(BufferedImage image) { this.image = image; }
+        long bytes() {
+            long px = (long) image.getWidth() * image.getHeight();
+            return px * 4 * (accel != null ? 2 : 1);
+        }
+    }
+
+    private final long budgetBytes;
+    private long usedBytes = 0;
+    private long hits = 0, misses = 0, evictions = 0, restores = 0;
+    private final Key probe = new Key();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    public SpriteCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /** วาด src ขนาด w x h ที่ (x, y) โดยใช้สำเนาที่ย่อ/ขยายไว้แล้ว */
+    public synchronized void draw(Graphics2D g2, Image src, int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) return;
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        Entry e = lookup(gc, src, w, h);
+        if (gc.getDevice().getType() == GraphicsDevice.TYPE_RASTER_SCREEN) {
+            VolatileImage vi = validAccel(e, gc);
+            g2.drawImage(vi, x, y, null);
+            // ถ้า contents หายระหว่างวาด ให้วาดจากสำเนาปกติแทนในเฟรมนี้ แล้ว validate ใหม่เฟรมหน้า
+            if (vi.contentsLost()) g2.drawImage(e.image, x, y, null);
+        } else {
+            g2.drawImage(e.image, x, y, null);
+        }
+    }
+
+    /** สำเนาที่ย่อ/ขยายไว้แล้ว (ใช้ตอนต้องวาดแบบมี transform เช่นหมุน) */
+    public synchronized BufferedImage scaled(GraphicsConfiguration gc, Image src, int w, int h) {
+        return lookup(gc, src, Math.max(1, w), Math.max(1, h)).image;
+    }
+
+    private Entry lookup(GraphicsConfiguration gc, Image src, int w, int h) {
+        Entry e = entries.get(probe.set(src, w, h));
+        probe.src = null;
+        if (e != null) { hits++; return e; }
+        misses++;
+        e = new Entry(render(gc, src, w, h));
+        entries.put(new Key().set(src, w, h), e);
+        usedBytes += e.bytes();
+        evictToBudget();
+        return e;
+    }
+
+    private VolatileImage validAccel(Entry e, GraphicsConfiguration gc) {
+        long before = e.bytes();
+        VolatileImage vi = e.accel;
+        int state = vi == null ? VolatileImage.IMAGE_INCOMPATIBLE : vi.validate(gc);
+        if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (vi != null) vi.flush();
+            vi = gc.createCompatibleVolatileImage(e.image.getWidth(), e.image.getHeight(), Transparency.TRANSLUCENT);
+            e.accel = vi;
+            copyInto(vi, e.image);
+            usedBytes += e.bytes() - before;
+            evictToBudget();
+        } else if (state == VolatileImage.IMAGE_RESTORED) {
+            restores++;
+            copyInto(vi, e.image);
+        }
+        return vi;
+    }
+
+    private static BufferedImage render(GraphicsConfiguration gc, Image src, int w, int h) {
+        BufferedImage img = gc != null
+                ? gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return img;
+    }
+
+    private static void copyInto(VolatileImage vi, BufferedImage image) {
+        Graphics2D g = vi.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        // เก็บตัวล่าสุดไว้เสมออย่างน้อย 1 ตัว แม้จะใหญ่เกิน budget
+        while (usedBytes > budgetBytes && entries.size() > 1 && it.hasNext()) {
+            Entry e = it.next().getValue();
+            usedBytes -= e.bytes();
+            if (e.accel != null) e.accel.flush();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        for (Entry e : entries.values()) if (e.accel != null) e.accel.flush();
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getUsedBytes() { return usedBytes; }
+    public long getBudgetBytes() { return budgetBytes; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getRestores() { return restores; }
+}
@@ -0,0 +1,64 @@
+package fluffyjump;
+
+public class UFO implements Entity {
+    // hitbox คงที่ = ufo.png (1242x684) ย่อเหลือ 8%; ไม่อ่านจากภาพเพื่อไม่ให้ขึ้นกับการ decode
+    public static final int WIDTH = 99, HEIGHT = 55;
+
+    private double x, y;
+    private int width, height;
+    private int groundY;
+    private double wobbleT = 0;
+    private double prevX, prevWobbleT;
+
+    /** ใช้กับ EntityPool: สร้างเปล่าไว้ แล้วเรียก reset ก่อนใช้ */
+    UFO() {}
+
+    public UFO(double startX, int groundY) {
+        reset(startX, groundY);
+    }
+
+    public UFO reset(double startX, int groundY) {
+        this.groundY = groundY;
+        this.wobbleT = 0;
+        this.prevWobbleT = 0;
+        width = WIDTH; height = HEIGHT;
+
+        this.x = startX;
+        this.prevX = startX;
+        this.y = groundY - height;
+        return this;
+    }
+
+    public UFO copyFrom(UFO o) {
+        x = o.x; y = o.y; width = o.width; height = o.height; groundY = o.groundY;
+        wobbleT = o.wobbleT; prevX = o.prevX; prevWobbleT = o.prevWobbleT;
+        return this;
+    }
+
+    // ==== Entity.update ====
+    @Override
+    public void update(double gameSpeed) {
+        prevX = x; prevWobbleT = wobbleT;
+        x -= gameSpeed + 1.0;
+        wobbleT += 0.12;
+    }
+
+    public void snapshot(RenderSnapshot.Layer out) {
+        out.add(prevX, x, y, y, prevWobbleT, wobbleT, width, height, 0);
+    }
+
+    // ==== Entity.isOffscreen ====
+    @Override
+    public boolean isOffscreen(int panelW, int panelH) { return isOffscreenLeft(80); }
+
+    public boolean isOffscreenLeft(int bufferPx) { return x + width < -bufferPx; }
+
+    public int getX() { return (int)Math.round(x); }
+    public int getY() { return (int)Math.round(y); }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getGroundY() { return groundY; }
+
+    // resize helper
+    public void shiftY(double dy) { this.y += dy; }
+}
@@ -0,0 +1,78 @@
+package fluffyjump;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The parallel meteor update must give exactly the sequential result: same seed and input, one simulation
+ * updated sequentially and one split across a pool from the first meteor on (threshold 1), compared after
+ * every tick.
+ */
+class ParallelUpdateTest {
+    private static final int TICKS = 1800;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RunnerGame.Level.class, names = {"PLANET", "METEOR_SHOWER"})
+    void parallelUpdateMatchesSequentialEveryTick(RunnerGame.Level level) {
+        for (long seed = 1; seed <= 2; seed++) {
+            GameSimulation seq = new GameSimulation(level, seed);
+            GameSimulation par = new GameSimulation(level, seed);
+            seq.setParallelUpdate(pool, Integer.MAX_VALUE);
+            par.setParallelUpdate(pool, 1);
+
+            // input สุ่มแต่เหมือนกันทั้งสองตัว ให้ผู้เล่นวิ่งไปชน meteor บ้าง
+            SplittableRandom input = new SplittableRandom(seed);
+            for (int t = 0; t < TICKS && !seq.isFinished(); t++) {
+                boolean left = input.nextInt(4) == 0, right = input.nextInt(3) == 0, jump = input.nextInt(30) == 0;
+                for (GameSimulation sim : new GameSimulation[] { seq, par }) {
+                    sim.setLeftPressed(left);
+                    sim.setRightPressed(right);
+                    if (jump) sim.jump();
+                    sim.step();
+                }
+                assertSameState(seq, par, level + " seed " + seed + " tick " + seq.getTick());
+            }
+        }
+    }
+
+    private static void assertSameState(GameSimulation expected, GameSimulation actual, String where) {
+        assertEquals(expected.getScore(), actual.getScore(), "score at " + where);
+        assertEquals(expected.getHp(), actual.getHp(), "hp at " + where);
+        assertEquals(expected.isFinished(), actual.isFinished(), "finished at " + where);
+
+        EntityStore a = expected.getMeteors(), b = actual.getMeteors();
+        int n = a.size();
+        assertEquals(n, b.size(), "meteor count at " + where);
+        assertArrayEquals(Arrays.copyOf(a.x, n), Arrays.copyOf(b.x, n), "x at " + where);
+        assertArrayEquals(Arrays.copyOf(a.y, n), Arrays.copyOf(b.y, n), "y at " + where);
+        assertArrayEquals(Arrays.copyOf(a.vx, n), Arrays.copyOf(b.vx, n), "vx at " + where);
+        assertArrayEquals(Arrays.copyOf(a.vy, n), Arrays.copyOf(b.vy, n), "vy at " + where);
+        assertArrayEquals(Arrays.copyOf(a.prevX, n), Arrays.copyOf(b.prevX, n), "prevX at " + where);
+        assertArrayEquals(Arrays.copyOf(a.prevY, n), Arrays.copyOf(b.prevY, n), "prevY at " + where);
+        assertArrayEquals(Arrays.copyOf(a.angle, n), Arrays.copyOf(b.angle, n), "angle at " + where);
+        assertArrayEquals(Arrays.copyOf(a.prevAngle, n), Arrays.copyOf(b.prevAngle, n), "prevAngle at " + where);
+        assertArrayEquals(Arrays.copyOf(a.spin, n), Arrays.copyOf(b.spin, n), "spin at " + where);
+        assertArrayEquals(Arrays.copyOf(a.type, n), Arrays.copyOf(b.type, n), "type at " + where);
+        assertArrayEquals(Arrays.copyOf(a.size, n), Arrays.copyOf(b.size, n), "size at " + where);
+    }
+}
@@ -0,0 +1,63 @@
+package fluffyjump;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A run recorded with {@link ReplayRecorder} must replay to the same end: the bot plays each level while
+ * the recorder writes the file, then {@link Replay#play()} runs it again from the file alone.
+ */
+class ReplayRoundTripTest {
+    private static final long SEED = 11;
+    private static final int MAX_TICKS = 60 * GameSimulation.TICK_HZ;
+
+    private static ForkJoinPool pool;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RunnerGame.Level.class)
+    void botRunReplaysToTheSameResult(RunnerGame.Level level) throws IOException, InterruptedException {
+        // งบ rollout เล็ก ๆ พอให้ input หลากหลาย (เดินซ้ายขวา กระโดด) โดยไม่ทำให้ test ช้า
+        LookaheadBot bot = new LookaheadBot(level, pool, 1, 30, 8);
+        GameSimulation sim = new GameSimulation(level, SEED);
+        ReplayRecorder recorder = ReplayRecorder.create(dir, level, SEED);
+        sim.setRecorder(recorder);
+        while (!sim.isFinished() && sim.getTick() < MAX_TICKS) {
+            bot.drive(sim);
+            sim.step();
+        }
+        recorder.finish(sim);
+        recorder.awaitWritten();
+        assertFalse(recorder.hasFailed(), "recorder failed to write " + recorder.getPath());
+
+        Replay replay = Replay.load(recorder.getPath());
+        assertEquals(level, replay.getLevel());
+        assertEquals(SEED, replay.getSeed());
+        Replay.Result result = replay.play();
+        assertTrue(result.matches(), level + ": " + result);
+        assertEquals(sim.getTick(), result.getTicks());
+        assertEquals(sim.getScore(), result.getScore());
+        assertEquals(sim.getHp(), result.getHp());
+    }
+}
@@ -0,0 +1,77 @@
+package fluffyjump;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cycling the render scale (what F4 does) keeps asking for new frame sizes. Several rounds of every scale
+ * step need far more than the shared budget, so old strips have to be dropped: every frame must still come
+ * from the cache (never the rotate-and-paint fallback), a frame asked for again at the same scale must be
+ * the cached one, and the budget must hold. The raw pixels a batch draws from are that same frame, not a
+ * second copy charged against the budget.
+ */
+class RotationCacheTest {
+    private static final double[] SCALES = { 0.5, 0.75, 1.0, 1.5, 2.0 };
+    private static final int ROUNDS = 3;
+
+    private static RotationCache newCache() {
+        return new RotationCache((g2, size) -> {
+            g2.setColor(Color.GRAY);
+            g2.fillOval(-size / 2, -size / 2, size, size);
+        });
+    }
+
+    @Test
+    void framesStayCachedAcrossRenderScaleChanges() {
+        RotationCache cache = newCache();
+        long evictionsBefore = RotationCache.getEvictions();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (double scale : SCALES) {
+                int sizes = 0;
+                BufferedImage[][] frames = new BufferedImage[Meteor.MAX_SIZE + 1][];
+                for (int size = Meteor.MIN_SIZE; size <= Meteor.MAX_SIZE; size += 4, sizes++) {
+                    int px = EntityRenderer.pxSize(size, scale);
+                    frames[size] = new BufferedImage[RotationCache.STEPS];
+                    for (int step = 0; step < RotationCache.STEPS; step++) {
+                        frames[size][step] = cache.frame(px, step);
+                        assertNotNull(frames[size][step], "size " + px + " step " + step + " at scale " + scale);
+                    }
+                    assertNotNull(cache.pixels(px, 0), "pixels of size " + px + " at scale " + scale);
+                }
+                assertTrue(sizes > 0);
+                // เฟรมเดียวกันอีกรอบต้องได้ภาพเดิมจาก cache ไม่ใช่วาดใหม่
+                for (int size = Meteor.MIN_SIZE; size <= Meteor.MAX_SIZE; size += 4) {
+                    int px = EntityRenderer.pxSize(size, scale);
+                    for (int step = 0; step < RotationCache.STEPS; step++) {
+                        assertSame(frames[size][step], cache.frame(px, step), "size " + px + " step " + step);
+                    }
+                }
+                assertTrue(RotationCache.getUsedBytes() <= RotationCache.getBudgetBytes(),
+                        "used " + RotationCache.getUsedBytes() + " bytes at scale " + scale);
+            }
+        }
+        assertTrue(RotationCache.getEvictions() > evictionsBefore, "scale cycling never filled the budget");
+    }
+
+    @Test
+    void pixelsShareTheCachedFrame() {
+        RotationCache cache = newCache();
+        int size = 40, side = RotationCache.side(size);
+        for (int step = 0; step < RotationCache.STEPS; step++) {
+            BufferedImage frame = cache.frame(size, step);
+            long before = RotationCache.getUsedBytes();
+            RotationCache.Pixels p = cache.pixels(size, step);
+            assertSame(((DataBufferInt) frame.getRaster().getDataBuffer()).getData(), p.argb, "step " + step);
+            // เพิ่มแค่ช่วงของแถว ไม่ใช่ pixel อีกชุด
+            assertTrue(RotationCache.getUsedBytes() - before <= (long) side * 2 * 4,
+                    "pixels of step " + step + " cost " + (RotationCache.getUsedBytes() - before) + " bytes");
+            assertSame(frame, cache.frame(size, step));
+        }
+    }
+}
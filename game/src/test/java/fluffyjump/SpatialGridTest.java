@@ -0,0 +1,97 @@
+package fluffyjump;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The meteor grid a simulation keeps up to date tick by tick must hold every meteor in the cell of its
+ * centre and agree with a brute-force pass over the store: the circle query with
+ * {@link EntityStore#firstCircleHit}, the pair query with every overlapping pair of boxes. Checked on a meteor shower as it fills up (spawns, motion, swap-removes), on both update
+ * paths, and on a copy that carries on from the middle of the run.
+ */
+class SpatialGridTest {
+    private static final int TICKS = 900;
+    private static final int COPY_AT = 400;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { Integer.MAX_VALUE, 1 })
+    void gridMatchesBruteForceEveryTick(int parallelThreshold) {
+        GameSimulation sim = new GameSimulation(RunnerGame.Level.METEOR_SHOWER, 5);
+        sim.setParallelUpdate(pool, parallelThreshold);
+        GameSimulation copy = GameSimulation.copyTarget(RunnerGame.Level.METEOR_SHOWER);
+        copy.setParallelUpdate(pool, parallelThreshold);
+        SplittableRandom random = new SplittableRandom(5);
+        int[] a = new int[1 << 16], b = new int[1 << 16];
+
+        for (int t = 0; t < TICKS && !sim.isFinished(); t++) {
+            sim.step();
+            if (t == COPY_AT) copy.copyFrom(sim);
+            // หลัง copy ตัวที่ถูก copy ต้องเดินต่อเองได้ถูกต้องด้วย
+            GameSimulation checked = t > COPY_AT ? copy : sim;
+            if (t > COPY_AT) copy.step();
+            EntityStore store = checked.getMeteors();
+            SpatialGrid grid = checked.getMeteorGrid();
+
+            // ทุกลูกอยู่ใน cell ของจุดศูนย์กลางตัวเองทุก tick (ไม่มีลูกไหนถูกตรวจช้ากว่าที่ข้ามขอบ)
+            for (int i = 0; i < store.size(); i++) {
+                if (grid.cellOf(i) != grid.cellAt(store.centerX(i), store.centerY(i))) {
+                    fail("meteor " + i + " in cell " + grid.cellOf(i) + ", centre in "
+                            + grid.cellAt(store.centerX(i), store.centerY(i)) + " at tick " + t);
+                }
+            }
+
+            for (int q = 0; q < 16; q++) {
+                double cx = random.nextInt(-100, 900), cy = random.nextInt(-100, 700), r = random.nextInt(5, 60);
+                assertEquals(store.firstCircleHit(cx, cy, r) >= 0, grid.anyCircleHit(store, cx, cy, r),
+                        "circle (" + cx + ", " + cy + ", " + r + ") at tick " + t);
+            }
+
+            if (t % 50 == 0) {
+                int[] all = new int[store.size() + 1];
+                assertEquals(store.size(), grid.query(-1e6, -1e6, 2e6, 2e6, all), "slots in grid at tick " + t);
+                int found = checked.meteorPairs(a, b);
+                assertTrue(found < a.length, "pair buffer too small at tick " + t);
+                Set<Long> pairs = new HashSet<>();
+                for (int k = 0; k < found; k++) {
+                    assertTrue(a[k] < b[k]);
+                    assertTrue(pairs.add((long) a[k] << 32 | b[k]), "pair reported twice at tick " + t);
+                }
+                assertEquals(bruteForcePairs(store), pairs, "pairs at tick " + t);
+            }
+        }
+        assertTrue(sim.getMeteors().size() > 1000, "shower never filled up: " + sim.getMeteors().size());
+    }
+
+    private static Set<Long> bruteForcePairs(EntityStore s) {
+        Set<Long> pairs = new HashSet<>();
+        for (int i = 0; i < s.size(); i++) {
+            for (int j = i + 1; j < s.size(); j++) {
+                if (s.x[i] > s.x[j] + s.size[j] || s.x[j] > s.x[i] + s.size[i]
+                        || s.y[i] > s.y[j] + s.size[j] || s.y[j] > s.y[i] + s.size[i]) continue;
+                pairs.add((long) i << 32 | j);
+            }
+        }
+        return pairs;
+    }
+}